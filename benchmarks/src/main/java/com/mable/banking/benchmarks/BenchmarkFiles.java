@@ -0,0 +1,52 @@
+package com.mable.banking.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generates the input files once per trial. Override the sizes with {@code -p transfers=50000000} etc.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkFiles {
+
+    @Param({"1000", "1000000"})
+    public long transfers;
+
+    @Param({"10000"})
+    public int accounts;
+
+    @Param({"0.0", "2.0"})
+    public double skew;
+
+    public Path directory;
+    public Path balancePath;
+    public Path transferPath;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        directory = Files.createTempDirectory("banking-bench");
+        balancePath = directory.resolve("balances.csv");
+        transferPath = directory.resolve("transfers.csv");
+        SyntheticData.writeBalances(balancePath, accounts, 42L);
+        SyntheticData.writeTransfers(transferPath, transfers, accounts, skew, 43L);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
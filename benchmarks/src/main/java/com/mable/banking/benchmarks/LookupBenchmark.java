@@ -0,0 +1,71 @@
+package com.mable.banking.benchmarks;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.SortedAccountIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the from and to account of every transfer, as a validation pass would, against the hash-indexed
+ * {@link CentsLedger} and the interpolation-searched {@link SortedAccountIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class LookupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LoadedData {
+
+        CentsLedger ledger;
+        SortedAccountIndex index;
+        List<CentsTransfer> transfers;
+
+        @Setup(Level.Trial)
+        public void load(BenchmarkFiles files) throws IOException {
+            ledger = new AccountCsvReader().loadLedger(files.balancePath).ledger();
+            index = new AccountCsvReader().loadSortedIndex(files.balancePath).index();
+            transfers = new TransactionCsvReader().loadCents(files.transferPath).transfers();
+        }
+    }
+
+    @Benchmark
+    public int resolveHashed(LoadedData data) {
+        int unknown = 0;
+        for (CentsTransfer transfer : data.transfers) {
+            if (data.ledger.indexOf(transfer.fromAccountId()) < 0 || data.ledger.indexOf(transfer.toAccountId()) < 0) {
+                unknown++;
+            }
+        }
+        return unknown;
+    }
+
+    @Benchmark
+    public int resolveSorted(LoadedData data) {
+        int unknown = 0;
+        for (CentsTransfer transfer : data.transfers) {
+            if (data.index.indexOf(transfer.fromAccountId()) < 0 || data.index.indexOf(transfer.toAccountId()) < 0) {
+                unknown++;
+            }
+        }
+        return unknown;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mable.banking.benchmarks;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.Transfer;
+import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.service.AccountService;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsTransferProcessor;
+import com.mable.banking.service.ParallelTransferProcessor;
+import com.mable.banking.service.TransferClassifier;
+import com.mable.banking.service.TransferProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ProcessorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LoadedData {
+
+        Map<String, Account> accounts;
+        List<Transfer> transfers;
+        CentsLedger ledger;
+        List<CentsTransfer> centsTransfers;
+
+        @Setup(Level.Trial)
+        public void load(BenchmarkFiles files) throws IOException {
+            accounts = new AccountCsvReader().load(files.balancePath).accounts();
+            transfers = new TransactionCsvReader().load(files.transferPath).transfers();
+            ledger = new AccountCsvReader().loadLedger(files.balancePath).ledger();
+            centsTransfers = new TransactionCsvReader().loadCents(files.transferPath).transfers();
+        }
+    }
+
+    @Benchmark
+    public ProcessResult processBigDecimal(LoadedData data) {
+        return new TransferProcessor(new AccountService()).process(data.accounts, data.transfers);
+    }
+
+    @Benchmark
+    public ProcessResult processCents(LoadedData data) {
+        return new CentsTransferProcessor().process(data.ledger, data.centsTransfers);
+    }
+
+    @Benchmark
+    public ProcessResult processPrevalidated(LoadedData data) {
+        return new CentsTransferProcessor().process(data.ledger, data.centsTransfers,
+            new TransferClassifier().classify(data.ledger, data.centsTransfers));
+    }
+
+    @Benchmark
+    public ProcessResult processParallel(LoadedData data) {
+        return new ParallelTransferProcessor().process(data.ledger, data.centsTransfers);
+    }
+}
@@ -0,0 +1,63 @@
+package com.mable.banking.benchmarks;
+
+import com.mable.banking.domain.BalanceLoadResult;
+import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.CentsTransactionLoadResult;
+import com.mable.banking.io.LedgerLoadResult;
+import com.mable.banking.io.MappedCsvReader;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.io.TransactionLoadResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ReaderBenchmark {
+
+    @Benchmark
+    public BalanceLoadResult loadBalances(BenchmarkFiles files) throws IOException {
+        return new AccountCsvReader().load(files.balancePath);
+    }
+
+    @Benchmark
+    public LedgerLoadResult loadBalanceLedger(BenchmarkFiles files) throws IOException {
+        return new AccountCsvReader().loadLedger(files.balancePath);
+    }
+
+    @Benchmark
+    public TransactionLoadResult loadTransfers(BenchmarkFiles files) throws IOException {
+        return new TransactionCsvReader().load(files.transferPath);
+    }
+
+    @Benchmark
+    public CentsTransactionLoadResult loadCentsTransfers(BenchmarkFiles files) throws IOException {
+        return new TransactionCsvReader().loadCents(files.transferPath);
+    }
+
+    @Benchmark
+    public LedgerLoadResult loadMappedBalanceLedger(BenchmarkFiles files) throws IOException {
+        return new MappedCsvReader().loadLedger(files.balancePath);
+    }
+
+    @Benchmark
+    public CentsTransactionLoadResult loadMappedCentsTransfers(BenchmarkFiles files) throws IOException {
+        return new MappedCsvReader().loadCents(files.transferPath);
+    }
+
+    @Benchmark
+    public CentsTransactionLoadResult loadMappedCentsTransfersParallel(BenchmarkFiles files) throws IOException {
+        return new MappedCsvReader().loadCentsParallel(files.transferPath, ForkJoinPool.commonPool());
+    }
+}
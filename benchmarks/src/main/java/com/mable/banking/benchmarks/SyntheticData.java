@@ -0,0 +1,73 @@
+package com.mable.banking.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Writes reproducible balance and transfer files in the application's CSV formats.
+ * <p>
+ * Account selection follows {@code accounts * u^(1 + skew)} for uniform {@code u}: a skew of 0 spreads
+ * transfers evenly, larger values concentrate them on the first accounts of the balance file.
+ * About 1% of transfers reference an unknown account so every status shows up.
+ */
+public final class SyntheticData {
+
+    static final long FIRST_ACCOUNT_ID = 1_000_000_000_000_000L;
+    private static final long UNKNOWN_ACCOUNT_ID = 9_999_999_999_999_999L;
+
+    private SyntheticData() {
+    }
+
+    public static void writeBalances(Path path, int accounts, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < accounts; i++) {
+                writer.write(Long.toString(FIRST_ACCOUNT_ID + i));
+                writer.write(',');
+                writer.write(amount(random.nextLong(100, 10_000_000)));
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void writeTransfers(Path path, long transfers, int accounts, double skew, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (long i = 0; i < transfers; i++) {
+                long from = random.nextInt(100) == 0 ? UNKNOWN_ACCOUNT_ID : pickAccount(random, accounts, skew);
+                writer.write(Long.toString(from));
+                writer.write(',');
+                writer.write(Long.toString(pickAccount(random, accounts, skew)));
+                writer.write(',');
+                writer.write(amount(random.nextLong(1, 500_000)));
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: SyntheticData <balances.csv> <transfers.csv> <accounts> <transfers> [skew] [seed]");
+            System.exit(1);
+        }
+        int accounts = Integer.parseInt(args[2]);
+        long transfers = Long.parseLong(args[3]);
+        double skew = args.length > 4 ? Double.parseDouble(args[4]) : 0.0;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+        writeBalances(Path.of(args[0]), accounts, seed);
+        writeTransfers(Path.of(args[1]), transfers, accounts, skew, seed + 1);
+    }
+
+    private static long pickAccount(SplittableRandom random, int accounts, double skew) {
+        double u = skew == 0.0 ? random.nextDouble() : Math.pow(random.nextDouble(), 1.0 + skew);
+        return FIRST_ACCOUNT_ID + Math.min(accounts - 1, (long) (u * accounts));
+    }
+
+    private static String amount(long cents) {
+        long fraction = cents % 100;
+        return (cents / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
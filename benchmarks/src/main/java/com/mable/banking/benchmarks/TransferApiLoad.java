@@ -0,0 +1,92 @@
+package com.mable.banking.benchmarks;
+
+import com.mable.banking.metrics.LatencyHistogram;
+import com.mable.banking.server.TransferServer;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.ConcurrentLedger;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load test for {@link TransferServer}: each client thread posts single transfers back to back
+ * over a kept-alive connection and records the round-trip time. Latency is measured client-side, so it
+ * includes HTTP parsing and loopback networking, not just the ledger.
+ */
+public final class TransferApiLoad {
+
+    private TransferApiLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int accounts = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int warmup = Math.min(requestsPerClient / 4, 5_000);
+
+        CentsLedger ledger = new CentsLedger(accounts);
+        for (int i = 0; i < accounts; i++) {
+            ledger.add(SyntheticData.FIRST_ACCOUNT_ID + i, 1_000_000_00L);
+        }
+        if (System.getProperty(TransferServer.NODELAY_PROPERTY) == null) {
+            System.setProperty(TransferServer.NODELAY_PROPERTY, "true");
+        }
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        try (TransferServer server = new TransferServer(new ConcurrentLedger(ledger),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), threads)) {
+            server.start();
+            URI uri = URI.create("http://127.0.0.1:" + server.address().getPort() + "/transfers");
+
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            List<Future<LatencyHistogram>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                long seed = c;
+                results.add(pool.submit(() -> runClient(uri, accounts, warmup, requestsPerClient, seed)));
+            }
+            LatencyHistogram total = new LatencyHistogram();
+            for (Future<LatencyHistogram> result : results) {
+                total.add(result.get());
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+
+            System.out.printf("clients=%d requests=%d server-threads=%d%n", clients, total.count(), threads);
+            System.out.printf("throughput=%.0f req/s (including warmup)%n", clients * (double) (warmup + requestsPerClient) / seconds);
+            System.out.printf("latency us: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                total.percentile(50) / 1e3, total.percentile(90) / 1e3, total.percentile(99) / 1e3,
+                total.percentile(99.9) / 1e3, total.max() / 1e3);
+        }
+    }
+
+    private static LatencyHistogram runClient(URI uri, int accounts, int warmup, int requests, long seed) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        SplittableRandom random = new SplittableRandom(seed);
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < warmup + requests; i++) {
+            String body = (SyntheticData.FIRST_ACCOUNT_ID + random.nextInt(accounts)) + ","
+                + (SyntheticData.FIRST_ACCOUNT_ID + random.nextInt(accounts)) + ",1.00";
+            HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode());
+            }
+            if (i >= warmup) {
+                histogram.record(elapsed);
+            }
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,65 @@
+package com.mable.banking.benchmarks;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.io.TransactionReportAppender;
+import com.mable.banking.io.TransactionReportWriter;
+import com.mable.banking.service.CentsTransferProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class WriterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Results {
+
+        List<TransactionResult> results;
+        List<CentsTransfer> transfers;
+        Path reportPath;
+
+        @Setup(Level.Trial)
+        public void process(BenchmarkFiles files) throws IOException {
+            var ledger = new AccountCsvReader().loadLedger(files.balancePath).ledger();
+            transfers = new TransactionCsvReader().loadCents(files.transferPath).transfers();
+            results = new CentsTransferProcessor().process(ledger, transfers).transactionResults();
+            reportPath = files.directory.resolve("transaction_report.csv");
+        }
+    }
+
+    @Benchmark
+    public Path writeReport(Results data) throws IOException {
+        new TransactionReportWriter().write(data.reportPath, data.results);
+        return data.reportPath;
+    }
+
+    @Benchmark
+    public Path writeCentsRows(Results data) throws IOException {
+        try (TransactionReportAppender appender = new TransactionReportWriter().open(data.reportPath)) {
+            for (int i = 0; i < data.transfers.size(); i++) {
+                appender.append(data.transfers.get(i), data.results.get(i).status());
+            }
+        }
+        return data.reportPath;
+    }
+}
@@ -4,56 +4,78 @@ import com.mable.banking.domain.*;
 import com.mable.banking.exception.BankingException;
 import com.mable.banking.exception.ValidationException;
 import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.AuditLogWriter;
+import com.mable.banking.io.BalanceSnapshot;
+import com.mable.banking.io.BalanceSnapshotFile;
+import com.mable.banking.io.CentsTransactionLoadResult;
+import com.mable.banking.io.ClosingBalanceWriter;
+import com.mable.banking.io.ColumnarReportWriter;
+import com.mable.banking.io.ErrorReportAppender;
 import com.mable.banking.io.ErrorReportWriter;
+import com.mable.banking.io.LedgerLoadResult;
+import com.mable.banking.io.MappedAccountFile;
+import com.mable.banking.io.MappedCsvReader;
+import com.mable.banking.io.SnapshotHistory;
 import com.mable.banking.domain.BalanceLoadResult;
 import com.mable.banking.io.TransactionCsvReader;
 import com.mable.banking.io.TransactionLoadResult;
+import com.mable.banking.io.TransactionReportAppender;
 import com.mable.banking.io.TransactionReportWriter;
+import com.mable.banking.io.TransferJournal;
+import com.mable.banking.metrics.LatencyHistogram;
+import com.mable.banking.metrics.RunMetrics;
 import com.mable.banking.service.AccountService;
+import com.mable.banking.service.AccountStore;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsProcessResult;
+import com.mable.banking.service.OffHeapAccountStore;
+import com.mable.banking.server.TransferServer;
+import com.mable.banking.shard.LocalShards;
+import com.mable.banking.shard.ShardedTransferProcessor;
+import com.mable.banking.service.CentsTransferProcessor;
+import com.mable.banking.service.ConcurrentLedger;
+import com.mable.banking.service.ParallelTransferProcessor;
+import com.mable.banking.service.TransferAudit;
+import com.mable.banking.service.TransferClassifier;
 import com.mable.banking.service.TransferProcessor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 @Slf4j
 public final class Main {
 
-    private static final String INPUT_DIR = "src/main/resources/input";
-    private static final String OUTPUT_DIR = "output";
-    private static final Path DEFAULT_BALANCE_PATH = Path.of(INPUT_DIR, "mable_account_balances.csv");
-    private static final Path DEFAULT_TRANSFER_PATH = Path.of(INPUT_DIR, "mable_transactions.csv");
-    private static final Path DEFAULT_REPORT_PATH = Path.of(OUTPUT_DIR, "transaction_report.csv");
-    private static final Path DEFAULT_BALANCE_ERRORS_PATH = Path.of(OUTPUT_DIR, "balance_account_errors.csv");
-    private static final Path DEFAULT_TRANSACTION_ERRORS_PATH = Path.of(OUTPUT_DIR, "transaction_parse_errors.csv");
+    private static final int JOURNAL_GROUP_SIZE = 1 << 16;
+    private static final int GROUPS_PER_CHECKPOINT = 64;
+    /** Never equal to a CRC32C, so no snapshot is treated as already containing the transfers. */
+    private static final long NO_TRANSFER_FILE = -1;
+    private static final int BALANCE_LINE_BYTES = 24;
+    private static final int MIN_BALANCE_LINE_BYTES = 19;
 
     public static void main(String[] args) {
-        Path balancePath = args.length > 0 ? Path.of(args[0]) : DEFAULT_BALANCE_PATH;
-        Path transferPath = args.length > 1 ? Path.of(args[1]) : DEFAULT_TRANSFER_PATH;
-        Path reportPath = args.length > 2 ? Path.of(args[2]) : DEFAULT_REPORT_PATH;
-        Path balanceErrorsPath = args.length > 3 ? Path.of(args[3]) : DEFAULT_BALANCE_ERRORS_PATH;
-        Path transactionErrorsPath = args.length > 4 ? Path.of(args[4]) : DEFAULT_TRANSACTION_ERRORS_PATH;
-
         try {
-            BalanceLoadResult balanceResult = new AccountCsvReader().load(balancePath);
-            if (balanceResult.hasErrors()) {
-                generateErrorReport(balanceErrorsPath, balanceResult.errors());
+            RunOptions options = RunOptions.parse(args);
+            if (options.servePort() >= 0) {
+                serve(options);
+                return;
             }
 
-            TransactionLoadResult transactionResult = new TransactionCsvReader().load(transferPath);
-            if (transactionResult.hasErrors()) {
-                generateErrorReport(transactionErrorsPath, transactionResult.errors());
+            RunMetrics metrics = new RunMetrics();
+            try (AuditLogWriter auditLog = openAuditLog(options)) {
+                run(options, auditLog != null ? auditLog : TransferAudit.NONE, metrics);
             }
-
-            var processResult = processTransfers(balanceResult.accounts(), transactionResult.transfers());
-            writeTransactionReport(reportPath, processResult.transactionResults());
-
-            log.info("Transaction report written to {}", reportPath);
-            log.info("Loaded {} accounts, {} transfers", balanceResult.accounts().size(), transactionResult.transfers().size());
-        } catch (IOException e) {
+            writeMetrics(options, metrics);
+        } catch (IOException | UncheckedIOException e) {
             log.error("IO error: {}", e.getMessage(), e);
             System.exit(2);
         } catch (ValidationException | BankingException e) {
@@ -62,9 +84,468 @@ public final class Main {
         }
     }
 
-    private static ProcessResult processTransfers(Map<String, Account> accounts, List<Transfer> transfers) {
+    private static void run(RunOptions options, TransferAudit audit, RunMetrics metrics) throws IOException {
+        LatencyHistogram latencies = options.metricsPath() != null ? metrics.applyLatencies() : null;
+        if (options.cents()) {
+            runCents(options, audit, metrics, latencies);
+            return;
+        }
+
+        RunMetrics.Timer loadBalances = metrics.start(RunMetrics.LOAD_BALANCES);
+        BalanceLoadResult balanceResult = new AccountCsvReader().load(options.balancePath());
+        if (balanceResult.hasErrors()) {
+            generateErrorReport(options.balanceErrorsPath(), balanceResult.errors());
+        }
+        loadBalances.stop(balanceResult.accounts().size(), Files.size(options.balancePath()));
+
+        if (options.streaming()) {
+            runStreaming(options, balanceResult.accounts(), audit, metrics, latencies);
+            return;
+        }
+
+        RunMetrics.Timer loadTransfers = metrics.start(RunMetrics.LOAD_TRANSFERS);
+        TransactionLoadResult transactionResult = new TransactionCsvReader().load(options.transferPath());
+        if (transactionResult.hasErrors()) {
+            generateErrorReport(options.transactionErrorsPath(), transactionResult.errors());
+        }
+        loadTransfers.stop(transactionResult.transfers().size(), Files.size(options.transferPath()));
+
+        RunMetrics.Timer process = metrics.start(RunMetrics.PROCESS);
+        var processResult = processTransfers(balanceResult.accounts(), transactionResult.transfers(), audit, latencies);
+        process.stop(transactionResult.transfers().size(), 0);
+
+        RunMetrics.Timer writeReport = metrics.start(RunMetrics.WRITE_REPORT);
+        writeTransactionReport(options.reportPath(), processResult.transactionResults());
+        writeColumnarReport(options, processResult.transactionResults());
+        writeClosingBalances(options, processResult.accounts());
+        writeReport.stop(processResult.transactionResults().size(), 0);
+
+        log.info("Transaction report written to {}", options.reportPath());
+        log.info("Loaded {} accounts, {} transfers", balanceResult.accounts().size(), transactionResult.transfers().size());
+    }
+
+    /**
+     * Serves the transfer API on localhost until the JVM is shut down. Opening balances load as for a cents run.
+     * On shutdown the balances as left by the API are written to {@code --snapshot} and {@code --closing-balances}.
+     */
+    private static void serve(RunOptions options) throws IOException {
+        var snapshots = new BalanceSnapshotFile();
+        ConcurrentLedger ledger = new ConcurrentLedger(loadOpeningBalances(options, snapshots, NO_TRANSFER_FILE));
+        // Responses stall ~40 ms on delayed ACKs without TCP_NODELAY. The JDK reads the property once, so it is set
+        // before the server exists; -Dsun.net.httpserver.nodelay=false on the command line still wins.
+        if (System.getProperty(TransferServer.NODELAY_PROPERTY) == null) {
+            System.setProperty(TransferServer.NODELAY_PROPERTY, "true");
+        }
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        TransferServer server = new TransferServer(ledger,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), options.servePort()), threads);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            try {
+                CentsLedger closing = ledger.snapshot();
+                writeSnapshot(options, snapshots, closing, NO_TRANSFER_FILE);
+                writeClosingBalances(options, closing);
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not save balances on shutdown: {}", e.getMessage(), e);
+            }
+            stopped.countDown();
+        }));
+        server.start();
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AuditLogWriter openAuditLog(RunOptions options) throws IOException {
+        return options.auditPath() != null ? new AuditLogWriter(options.auditPath(), options.auditSampleRate()) : null;
+    }
+
+    private static void runCents(RunOptions options, TransferAudit audit, RunMetrics metrics,
+                                 LatencyHistogram latencies) throws IOException {
+        if (options.multiFile()) {
+            runMultiFile(options, new CentsTransferProcessor(audit, latencies), metrics);
+            return;
+        }
+        var snapshots = new BalanceSnapshotFile();
+        long transferFileKey = options.snapshotPath() != null || options.journalPath() != null
+            || options.accountFilePath() != null
+            ? snapshots.transferFileKey(options.transferPath())
+            : 0;
+        if (options.pipelined()) {
+            runPipelined(options, snapshots, transferFileKey, new CentsTransferProcessor(audit, latencies), metrics);
+            return;
+        }
+
+        var centsProcessor = new CentsTransferProcessor(audit, latencies);
+        RunMetrics.Timer loadBalances = metrics.start(RunMetrics.LOAD_BALANCES);
+
+        if (options.streaming()) {
+            AccountStore ledger = loadOpeningStore(options, snapshots, transferFileKey);
+            loadBalances.stop(ledger.size(), Files.size(balanceSource(options)));
+            runStreaming(options, metrics, (sink, onError) -> {
+                Consumer<CentsTransfer> onTransfer = transfer -> sink.append(transfer, centsProcessor.applyStatus(ledger, transfer));
+                return options.mapped()
+                    ? new MappedCsvReader().readCents(options.transferPath(), onTransfer, onError)
+                    : new TransactionCsvReader().readCents(options.transferPath(), onTransfer, onError);
+            });
+            writeSnapshot(options, snapshots, ledger, transferFileKey);
+            writeClosingBalances(options, ledger);
+            commitAccountFile(ledger, transferFileKey);
+            return;
+        }
+
+        CentsLedger accounts = loadOpeningBalances(options, snapshots, transferFileKey);
+        loadBalances.stop(accounts.size(), Files.size(balanceSource(options)));
+
+        RunMetrics.Timer loadTransfers = metrics.start(RunMetrics.LOAD_TRANSFERS);
+        CentsTransactionLoadResult transactionResult;
+        if (options.parallelParse()) {
+            transactionResult = new MappedCsvReader().loadCentsParallel(options.transferPath(), ForkJoinPool.commonPool());
+        } else if (options.mapped()) {
+            transactionResult = new MappedCsvReader().loadCents(options.transferPath());
+        } else {
+            transactionResult = new TransactionCsvReader().loadCents(options.transferPath());
+        }
+        if (transactionResult.hasErrors()) {
+            generateErrorReport(options.transactionErrorsPath(), transactionResult.errors());
+        }
+        loadTransfers.stop(transactionResult.transfers().size(), Files.size(options.transferPath()));
+
+        if (options.journalPath() != null) {
+            RunMetrics.Timer process = metrics.start(RunMetrics.PROCESS);
+            CentsLedger closing = runJournaled(options, accounts, transactionResult.transfers(), centsProcessor, transferFileKey);
+            process.stop(transactionResult.transfers().size(), 0);
+            writeSnapshot(options, snapshots, closing, transferFileKey);
+            writeClosingBalances(options, closing);
+            log.info("Transaction report written to {}", options.reportPath());
+            return;
+        }
+
+        RunMetrics.Timer process = metrics.start(RunMetrics.PROCESS);
+        List<CentsTransfer> transfers = transactionResult.transfers();
+        CentsProcessResult processResult;
+        if (options.parallel()) {
+            processResult = new ParallelTransferProcessor(ForkJoinPool.commonPool(), audit).processCents(accounts, transfers);
+        } else if (options.shards() > 0) {
+            processResult = processSharded(options.shards(), accounts, transfers, audit);
+        } else if (options.prevalidate()) {
+            var classification = new TransferClassifier(ForkJoinPool.commonPool()).classify(accounts, transfers);
+            processResult = centsProcessor.processCents(accounts, transfers, classification);
+        } else {
+            processResult = centsProcessor.processCents(accounts, transfers);
+        }
+        process.stop(transfers.size(), 0);
+
+        RunMetrics.Timer writeReport = metrics.start(RunMetrics.WRITE_REPORT);
+        writeTransactionReport(options.reportPath(), transfers, processResult.statuses());
+        writeColumnarReport(options, transfers, processResult.statuses());
+        writeSnapshot(options, snapshots, processResult.ledger(), transferFileKey);
+        writeClosingBalances(options, processResult.ledger());
+        writeReport.stop(transfers.size(), 0);
+
+        log.info("Transaction report written to {}", options.reportPath());
+        log.info("Loaded {} accounts, {} transfers", accounts.size(), transactionResult.transfers().size());
+    }
+
+    /**
+     * Loads the balances once and applies every matching transfer file to them, with one report and error file each.
+     */
+    private static void runMultiFile(RunOptions options, CentsTransferProcessor centsProcessor, RunMetrics metrics)
+        throws IOException {
+        List<Path> files = MultiFileRun.resolve(options.transferPath());
+
+        RunMetrics.Timer loadBalances = metrics.start(RunMetrics.LOAD_BALANCES);
+        CentsLedger ledger = loadOpeningBalances(options, new BalanceSnapshotFile(), NO_TRANSFER_FILE);
+        loadBalances.stop(ledger.size(), Files.size(options.balancePath()));
+
+        RunMetrics.Timer process = metrics.start(RunMetrics.PROCESS);
+        ensureParentDir(options.reportPath());
+        ensureParentDir(options.transactionErrorsPath());
+        MultiFileRun.Summary summary = new MultiFileRun(centsProcessor, options.mapped())
+            .run(ledger, files, options.reportPath(), options.transactionErrorsPath());
+        long bytes = 0;
+        for (Path file : files) {
+            bytes += Files.size(file);
+        }
+        process.stop(summary.transfers(), bytes);
+
+        log.info("Processed {} transfers from {} files: {}; {} parse errors",
+            summary.transfers(), summary.files(), summary.statusCounts(), summary.errors());
+        writeClosingBalances(options, ledger);
+    }
+
+    /**
+     * Balance loading overlaps reading and parsing the transfers, so like streaming the whole pipeline is
+     * recorded as one {@link RunMetrics#PROCESS} phase.
+     */
+    private static void runPipelined(RunOptions options, BalanceSnapshotFile snapshots, long transferFileKey,
+                                     CentsTransferProcessor centsProcessor, RunMetrics metrics) throws IOException {
+        RunMetrics.Timer process = metrics.start(RunMetrics.PROCESS);
+        ensureParentDir(options.reportPath());
+        TransferPipeline.Result result;
+        try (TransactionReportAppender report = new TransactionReportWriter().open(options.reportPath());
+             ErrorReportAppender errors = new ErrorReportWriter().open(options.transactionErrorsPath())) {
+            result = new TransferPipeline(centsProcessor).run(
+                () -> loadOpeningStore(options, snapshots, transferFileKey), options.transferPath(), report, errors);
+        }
+        process.stop(result.transfers(), Files.size(options.transferPath()));
+
+        log.info("Processed {} transfers: {}; {} parse errors", result.transfers(), result.statusCounts(), result.errors());
+        if (result.errors() > 0) {
+            log.info("Errors written to {}", options.transactionErrorsPath());
+        }
+        writeSnapshot(options, snapshots, result.ledger(), transferFileKey);
+        writeClosingBalances(options, result.ledger());
+        commitAccountFile(result.ledger(), transferFileKey);
+        log.info("Transaction report written to {}", options.reportPath());
+    }
+
+    /**
+     * Runs the transfers on {@code shards} local worker processes, which are stopped again afterwards.
+     */
+    private static CentsProcessResult processSharded(int shards, CentsLedger accounts, List<CentsTransfer> transfers,
+                                                     TransferAudit audit) throws IOException {
+        try (LocalShards workers = LocalShards.start(shards)) {
+            return new ShardedTransferProcessor(workers.addresses(), audit).processCents(accounts, transfers);
+        }
+    }
+
+    /**
+     * Applies transfers sequentially while journaling them, resuming after the last committed group if a
+     * previous run crashed. Report rows are synced before each commit so the report and journal agree.
+     */
+    private static CentsLedger runJournaled(RunOptions options, CentsLedger accounts, List<CentsTransfer> transfers,
+                                            CentsTransferProcessor centsProcessor, long transferFileKey) throws IOException {
+        ensureParentDir(options.reportPath());
+        try (TransferJournal journal = TransferJournal.open(options.journalPath(), accounts, transferFileKey);
+             TransactionReportAppender report = new TransactionReportWriter().resume(options.reportPath(), journal.reportOffset())) {
+            CentsLedger ledger = journal.ledger();
+            int from = Math.toIntExact(journal.resumeFrom());
+            if (from > 0) {
+                log.info("Resuming at transfer {} of {}", from, transfers.size());
+            }
+
+            for (int i = from; i < transfers.size(); i++) {
+                CentsTransfer transfer = transfers.get(i);
+                TransactionStatus status = centsProcessor.applyStatus(ledger, transfer);
+                if (status == TransactionStatus.APPLIED) {
+                    journal.recordApplied(i, transfer);
+                }
+                report.append(transfer, status);
+
+                int processed = i + 1;
+                if (processed % JOURNAL_GROUP_SIZE == 0) {
+                    if (processed % (JOURNAL_GROUP_SIZE * GROUPS_PER_CHECKPOINT) == 0) {
+                        journal.checkpoint(processed, report.sync());
+                    } else {
+                        journal.commit(processed, report.sync());
+                    }
+                }
+            }
+            journal.commit(transfers.size(), report.sync());
+            journal.complete();
+            return ledger;
+        }
+    }
+
+    /**
+     * Opening balances come from the previous run's snapshot when one exists, otherwise from the balance CSV.
+     * A snapshot whose history lists today's transfer file already contains those transfers, and one started
+     * from a different balance CSV than the one given no longer describes it; both are refused.
+     */
+    private static CentsLedger loadOpeningBalances(RunOptions options, BalanceSnapshotFile snapshots,
+                                                   long transferFileKey) throws IOException {
+        if (usesSnapshot(options)) {
+            BalanceSnapshot snapshot = snapshots.read(options.snapshotPath());
+            if (snapshot.history().includes(transferFileKey)) {
+                throw new ValidationException("Snapshot " + options.snapshotPath()
+                    + " already includes the transfers in " + options.transferPath());
+            }
+            checkSnapshotOrigin(options, snapshots, snapshot.history());
+            return snapshot.ledger();
+        }
+
+        LedgerLoadResult balanceResult = options.mapped()
+            ? new MappedCsvReader().loadLedger(options.balancePath())
+            : new AccountCsvReader().loadLedger(options.balancePath());
+        if (balanceResult.hasErrors()) {
+            generateErrorReport(options.balanceErrorsPath(), balanceResult.errors());
+        }
+        return balanceResult.ledger();
+    }
+
+    /**
+     * With {@code --off-heap} the balance CSV loads straight into an {@link OffHeapAccountStore}, sized from the
+     * file length so it rarely has to grow; otherwise balances load as in {@link #loadOpeningBalances}.
+     */
+    private static AccountStore loadOpeningStore(RunOptions options, BalanceSnapshotFile snapshots,
+                                                 long transferFileKey) throws IOException {
+        if (options.accountFilePath() != null) {
+            return openAccountFile(options, transferFileKey);
+        }
+        if (!options.offHeap()) {
+            return loadOpeningBalances(options, snapshots, transferFileKey);
+        }
+        long expectedAccounts = Files.size(options.balancePath()) / BALANCE_LINE_BYTES;
+        var store = new OffHeapAccountStore((int) Math.min(Integer.MAX_VALUE, expectedAccounts));
+        List<LineError> errors = options.mapped()
+            ? new MappedCsvReader().loadInto(options.balancePath(), store)
+            : new AccountCsvReader().loadInto(options.balancePath(), store);
+        if (!errors.isEmpty()) {
+            generateErrorReport(options.balanceErrorsPath(), errors);
+        }
+        return store;
+    }
+
+    /**
+     * Maps the account file when it exists, so no balances are parsed; otherwise builds it from the balance CSV.
+     * As with a snapshot, a file that already includes today's transfers is refused.
+     */
+    private static MappedAccountFile openAccountFile(RunOptions options, long transferFileKey) throws IOException {
+        Path path = options.accountFilePath();
+        if (Files.exists(path)) {
+            MappedAccountFile accountFile = MappedAccountFile.open(path);
+            if (accountFile.transferFileKey() == transferFileKey) {
+                accountFile.close();
+                throw new ValidationException("Account file " + path + " already includes the transfers in "
+                    + options.transferPath());
+            }
+            return accountFile;
+        }
+
+        // The file cannot grow, so size it for the shortest valid line; unused capacity stays sparse on disk.
+        ensureParentDir(path);
+        long maxAccounts = (Files.size(options.balancePath()) + 1) / MIN_BALANCE_LINE_BYTES;
+        MappedAccountFile accountFile = MappedAccountFile.create(path, (int) Math.min(Integer.MAX_VALUE, maxAccounts));
+        List<LineError> errors = options.mapped()
+            ? new MappedCsvReader().loadInto(options.balancePath(), accountFile)
+            : new AccountCsvReader().loadInto(options.balancePath(), accountFile);
+        if (!errors.isEmpty()) {
+            generateErrorReport(options.balanceErrorsPath(), errors);
+        }
+        return accountFile;
+    }
+
+    private static void commitAccountFile(AccountStore ledger, long transferFileKey) throws IOException {
+        if (ledger instanceof MappedAccountFile accountFile) {
+            accountFile.commit(transferFileKey);
+            accountFile.close();
+        }
+    }
+
+    /**
+     * The balance CSV is not read while a snapshot exists, so it may be missing; if it is there, it must be the
+     * file the snapshot chain started from.
+     */
+    private static void checkSnapshotOrigin(RunOptions options, BalanceSnapshotFile snapshots, SnapshotHistory history)
+        throws IOException {
+        long recorded = history.balancesChecksum();
+        if (recorded == SnapshotHistory.UNKNOWN || !Files.isRegularFile(options.balancePath())) {
+            log.info("Using snapshot {}; balance file {} is not checked", options.snapshotPath(), options.balancePath());
+            return;
+        }
+        if (snapshots.checksum(options.balancePath()) != recorded) {
+            throw new ValidationException("Balance file " + options.balancePath() + " has changed since snapshot "
+                + options.snapshotPath() + " was started from it; remove the snapshot to start again from the balance file");
+        }
+    }
+
+    private static boolean usesSnapshot(RunOptions options) {
+        return options.snapshotPath() != null && Files.exists(options.snapshotPath());
+    }
+
+    private static Path balanceSource(RunOptions options) {
+        if (options.accountFilePath() != null && Files.exists(options.accountFilePath())) {
+            return options.accountFilePath();
+        }
+        return usesSnapshot(options) ? options.snapshotPath() : options.balancePath();
+    }
+
+    private static void writeSnapshot(RunOptions options, BalanceSnapshotFile snapshots, AccountStore closing,
+                                      long transferFileKey) throws IOException {
+        if (options.snapshotPath() == null) {
+            return;
+        }
+        // Until it is replaced below, an existing snapshot is the one this run started from.
+        SnapshotHistory history = usesSnapshot(options)
+            ? snapshots.readHistory(options.snapshotPath())
+            : SnapshotHistory.startingFrom(snapshots.checksum(options.balancePath()));
+        if (transferFileKey != NO_TRANSFER_FILE) {
+            history = history.then(transferFileKey);
+        }
+        ensureParentDir(options.snapshotPath());
+        snapshots.write(options.snapshotPath(), closing, history);
+    }
+
+    private static void runStreaming(RunOptions options, Map<String, Account> accounts, TransferAudit audit,
+                                     RunMetrics metrics, LatencyHistogram latencies) throws IOException {
+        var transferProcessor = new TransferProcessor(new AccountService(), audit, latencies);
+        Map<String, Account> ledger = transferProcessor.copyAccounts(accounts);
+        runStreaming(options, metrics, (sink, onError) -> new TransactionCsvReader().read(options.transferPath(),
+            transfer -> sink.append(transferProcessor.apply(ledger, transfer)), onError));
+        writeClosingBalances(options, ledger);
+    }
+
+    /**
+     * Reading, applying and reporting overlap in streaming mode, so the whole pass is recorded as one
+     * {@link RunMetrics#PROCESS} phase.
+     */
+    private static void runStreaming(RunOptions options, RunMetrics metrics, StreamingSource source) throws IOException {
+        StatusCounts counts = new StatusCounts();
+        RunMetrics.Timer process = metrics.start(RunMetrics.PROCESS);
+
+        ensureParentDir(options.reportPath());
+        try (TransactionReportAppender report = new TransactionReportWriter().open(options.reportPath());
+             ErrorReportAppender errors = new ErrorReportWriter().open(options.transactionErrorsPath())) {
+            ReportSink sink = new ReportSink() {
+                @Override
+                public void append(TransactionResult result) {
+                    counts.increment(result.status());
+                    try {
+                        report.append(result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void append(CentsTransfer transfer, TransactionStatus status) {
+                    counts.increment(status);
+                    try {
+                        report.append(transfer, status);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            Consumer<LineError> onError = error -> appendUnchecked(errors, error);
+
+            long transfers = source.run(sink, onError);
+            process.stop(transfers, Files.size(options.transferPath()));
+
+            log.info("Processed {} transfers: {}; {} parse errors", transfers, counts, errors.errorCount());
+            if (errors.errorCount() > 0) {
+                log.info("Errors written to {}", options.transactionErrorsPath());
+            }
+        }
+        log.info("Transaction report written to {}", options.reportPath());
+    }
+
+    private static void appendUnchecked(ErrorReportAppender errors, LineError error) {
+        try {
+            errors.append(error);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ProcessResult processTransfers(Map<String, Account> accounts, List<Transfer> transfers, TransferAudit audit,
+                                                  LatencyHistogram latencies) {
         var accountService = new AccountService();
-        var transferProcessor = new TransferProcessor(accountService);
+        var transferProcessor = new TransferProcessor(accountService, audit, latencies);
         return transferProcessor.process(accounts, transfers);
     }
 
@@ -74,6 +555,52 @@ public final class Main {
         transactionReportWriter.write(reportPath, transactionResults);
     }
 
+    private static void writeTransactionReport(Path reportPath, List<CentsTransfer> transfers,
+                                               TransactionStatus[] statuses) throws IOException {
+        ensureParentDir(reportPath);
+        new TransactionReportWriter().write(reportPath, transfers, statuses);
+    }
+
+    private static void writeMetrics(RunOptions options, RunMetrics metrics) throws IOException {
+        Path path = options.metricsPath();
+        if (path == null) {
+            return;
+        }
+        ensureParentDir(path);
+        String text = path.getFileName().toString().endsWith(".json") ? metrics.toJson() : metrics.toPrometheus();
+        Files.writeString(path, text);
+        log.info("Metrics written to {}", path);
+    }
+
+    private static void writeColumnarReport(RunOptions options, List<TransactionResult> results) throws IOException {
+        if (options.columnarReportPath() != null) {
+            ensureParentDir(options.columnarReportPath());
+            new ColumnarReportWriter().write(options.columnarReportPath(), results);
+        }
+    }
+
+    private static void writeColumnarReport(RunOptions options, List<CentsTransfer> transfers,
+                                            TransactionStatus[] statuses) throws IOException {
+        if (options.columnarReportPath() != null) {
+            ensureParentDir(options.columnarReportPath());
+            new ColumnarReportWriter().write(options.columnarReportPath(), transfers, statuses);
+        }
+    }
+
+    private static void writeClosingBalances(RunOptions options, AccountStore closing) throws IOException {
+        if (options.closingBalancesPath() != null) {
+            ensureParentDir(options.closingBalancesPath());
+            new ClosingBalanceWriter().write(options.closingBalancesPath(), closing);
+        }
+    }
+
+    private static void writeClosingBalances(RunOptions options, Map<String, Account> closing) throws IOException {
+        if (options.closingBalancesPath() != null) {
+            ensureParentDir(options.closingBalancesPath());
+            new ClosingBalanceWriter().write(options.closingBalancesPath(), closing);
+        }
+    }
+
     private static void ensureParentDir(Path path) throws IOException {
         if (path.getParent() != null) {
             Files.createDirectories(path.getParent());
@@ -86,4 +613,16 @@ public final class Main {
         errorReportWriter.write(errorFilesPath, errors);
         log.info("Errors written to {}", errorFilesPath);
     }
+
+    @FunctionalInterface
+    private interface StreamingSource {
+        long run(ReportSink sink, Consumer<LineError> onError) throws IOException;
+    }
+
+    /** Receives streamed results; the cents overload lets the report encode rows without building Strings. */
+    private interface ReportSink {
+        void append(TransactionResult result);
+
+        void append(CentsTransfer transfer, TransactionStatus status);
+    }
 }
@@ -0,0 +1,206 @@
+package com.mable.banking.app;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.io.CentsTransactionLoadResult;
+import com.mable.banking.io.ErrorReportWriter;
+import com.mable.banking.io.MappedCsvReader;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.io.TransactionReportAppender;
+import com.mable.banking.io.TransactionReportWriter;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsTransferProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Applies several transfer files, one after another in file name order, to a single ledger that is loaded once.
+ * Each file gets its own transaction report and error file, named after the configured report and error paths
+ * with the transfer file's name appended ({@code transaction_report.csv} becomes
+ * {@code transaction_report-branch-07.csv}).
+ *
+ * <p>The next file is parsed on a background thread while the current one is applied and written, so at most
+ * two parsed files are held in memory.</p>
+ */
+@Slf4j
+class MultiFileRun {
+
+    private static final String GLOB_CHARS = "*?[{";
+    private static final String CSV_SUFFIX = ".csv";
+
+    private final CentsTransferProcessor processor;
+    private final boolean mapped;
+
+    /**
+     * Totals across all files.
+     */
+    record Summary(int files, long transfers, long errors, StatusCounts statusCounts) {
+    }
+
+    MultiFileRun(CentsTransferProcessor processor, boolean mapped) {
+        this.processor = processor;
+        this.mapped = mapped;
+    }
+
+    /**
+     * True when {@code transferPath} names a directory or has a glob pattern in its file name.
+     */
+    static boolean isMultiFile(Path transferPath) {
+        return Files.isDirectory(transferPath) || hasGlob(transferPath.getFileName());
+    }
+
+    /**
+     * The {@code .csv} files in a directory, or the files in the parent directory matching a glob such as
+     * {@code in/branch-*.csv}, sorted by file name.
+     */
+    static List<Path> resolve(Path transferPath) throws IOException {
+        Path directory;
+        PathMatcher matcher;
+        if (Files.isDirectory(transferPath)) {
+            directory = transferPath;
+            matcher = file -> file.getFileName().toString().endsWith(CSV_SUFFIX);
+        } else {
+            directory = transferPath.getParent() != null ? transferPath.getParent() : Path.of("");
+            if (hasGlob(directory)) {
+                throw new ValidationException("Only the file name of a transfer path may be a glob: " + transferPath);
+            }
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + transferPath.getFileName());
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new ValidationException("Transfer directory does not exist: " + directory);
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry) && matcher.matches(entry.getFileName())) {
+                    files.add(entry);
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            throw new ValidationException("No transfer files match " + transferPath);
+        }
+        files.sort((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()));
+        return files;
+    }
+
+    /**
+     * {@code output/transaction_report.csv} and {@code in/branch-07.csv} give {@code output/transaction_report-branch-07.csv}.
+     */
+    static Path outputFor(Path template, Path transferFile) {
+        String name = template.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        String source = transferFile.getFileName().toString();
+        int sourceDot = source.lastIndexOf('.');
+        return template.resolveSibling(stem + "-" + (sourceDot > 0 ? source.substring(0, sourceDot) : source) + extension);
+    }
+
+    /**
+     * Applies {@code files} in order to {@code ledger}, which holds the closing balances afterwards.
+     */
+    Summary run(CentsLedger ledger, List<Path> files, Path reportTemplate, Path errorsTemplate) throws IOException {
+        log.info("Processing {} transfer files", files.size());
+        StatusCounts total = new StatusCounts();
+        long transfers = 0;
+        long errors = 0;
+
+        ExecutorService prefetch = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transfer-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Future<CentsTransactionLoadResult> next = prefetch.submit(() -> load(files.get(0)));
+            for (int i = 0; i < files.size(); i++) {
+                CentsTransactionLoadResult loaded = await(next, files.get(i));
+                if (i + 1 < files.size()) {
+                    Path following = files.get(i + 1);
+                    next = prefetch.submit(() -> load(following));
+                }
+
+                Path reportPath = outputFor(reportTemplate, files.get(i));
+                StatusCounts counts = apply(ledger, loaded.transfers(), reportPath);
+                if (loaded.hasErrors()) {
+                    new ErrorReportWriter().write(outputFor(errorsTemplate, files.get(i)), loaded.errors());
+                }
+                log.info("{}: {}; {} parse errors; report {}", files.get(i).getFileName(), counts, loaded.errors().size(), reportPath);
+
+                total.add(counts);
+                transfers += loaded.transfers().size();
+                errors += loaded.errors().size();
+            }
+        } finally {
+            prefetch.shutdownNow();
+        }
+        return new Summary(files.size(), transfers, errors, total);
+    }
+
+    private StatusCounts apply(CentsLedger ledger, List<CentsTransfer> transfers, Path reportPath) throws IOException {
+        StatusCounts counts = new StatusCounts();
+        try (TransactionReportAppender report = new TransactionReportWriter().open(reportPath)) {
+            for (CentsTransfer transfer : transfers) {
+                TransactionStatus status = processor.applyStatus(ledger, transfer);
+                counts.increment(status);
+                report.append(transfer, status);
+            }
+        }
+        return counts;
+    }
+
+    private CentsTransactionLoadResult load(Path file) throws IOException {
+        return mapped ? new MappedCsvReader().loadCents(file) : new TransactionCsvReader().loadCents(file);
+    }
+
+    private static CentsTransactionLoadResult await(Future<CentsTransactionLoadResult> parsed, Path file) throws IOException {
+        try {
+            return parsed.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new BankingException("Failed to parse " + file + ": " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankingException("Interrupted while parsing " + file, e);
+        }
+    }
+
+    private static boolean hasGlob(Path path) {
+        if (path == null) {
+            return false;
+        }
+        String text = path.toString();
+        for (int i = 0; i < GLOB_CHARS.length(); i++) {
+            if (text.indexOf(GLOB_CHARS.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,251 @@
+package com.mable.banking.app;
+
+import com.mable.banking.exception.ValidationException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public record RunOptions(Path balancePath,
+                         Path transferPath,
+                         Path reportPath,
+                         Path balanceErrorsPath,
+                         Path transactionErrorsPath,
+                         boolean streaming,
+                         boolean cents,
+                         boolean parallel,
+                         boolean mapped,
+                         boolean parallelParse,
+                         Path auditPath,
+                         double auditSampleRate,
+                         Path snapshotPath,
+                         Path journalPath,
+                         Path closingBalancesPath,
+                         Path columnarReportPath,
+                         Path metricsPath,
+                         int servePort,
+                         boolean pipelined,
+                         int shards,
+                         boolean offHeap,
+                         Path accountFilePath,
+                         boolean prevalidate) {
+
+    private static final String INPUT_DIR = "src/main/resources/input";
+    private static final String OUTPUT_DIR = "output";
+    private static final Path DEFAULT_BALANCE_PATH = Path.of(INPUT_DIR, "mable_account_balances.csv");
+    private static final Path DEFAULT_TRANSFER_PATH = Path.of(INPUT_DIR, "mable_transactions.csv");
+    private static final Path DEFAULT_REPORT_PATH = Path.of(OUTPUT_DIR, "transaction_report.csv");
+    private static final Path DEFAULT_BALANCE_ERRORS_PATH = Path.of(OUTPUT_DIR, "balance_account_errors.csv");
+    private static final Path DEFAULT_TRANSACTION_ERRORS_PATH = Path.of(OUTPUT_DIR, "transaction_parse_errors.csv");
+
+    private static final String STREAMING_FLAG = "--streaming";
+    private static final String CENTS_FLAG = "--cents";
+    private static final String PARALLEL_FLAG = "--parallel";
+    private static final String MAPPED_FLAG = "--mapped";
+    private static final String PARALLEL_PARSE_FLAG = "--parallel-parse";
+    private static final String PIPELINED_FLAG = "--pipelined";
+    private static final String OFF_HEAP_FLAG = "--off-heap";
+    private static final String PREVALIDATE_FLAG = "--prevalidate";
+    private static final String AUDIT_OPTION = "--audit=";
+    private static final String AUDIT_SAMPLE_OPTION = "--audit-sample=";
+    private static final String SNAPSHOT_OPTION = "--snapshot=";
+    private static final String JOURNAL_OPTION = "--journal=";
+    private static final String CLOSING_BALANCES_OPTION = "--closing-balances=";
+    private static final String COLUMNAR_OPTION = "--columnar=";
+    private static final String METRICS_OPTION = "--metrics=";
+    private static final String SERVE_OPTION = "--serve=";
+    private static final String SHARDS_OPTION = "--shards=";
+    private static final String ACCOUNT_FILE_OPTION = "--account-file=";
+
+    public static RunOptions parse(String[] args) {
+        List<String> positional = new ArrayList<>();
+        boolean streaming = false;
+        boolean cents = false;
+        boolean parallel = false;
+        boolean mapped = false;
+        boolean parallelParse = false;
+        boolean pipelined = false;
+        int shards = 0;
+        boolean offHeap = false;
+        boolean prevalidate = false;
+        Path auditPath = null;
+        double auditSampleRate = 1.0;
+        Path snapshotPath = null;
+        Path journalPath = null;
+        Path closingBalancesPath = null;
+        Path columnarReportPath = null;
+        Path metricsPath = null;
+        int servePort = -1;
+        Path accountFilePath = null;
+
+        for (String arg : args) {
+            if (STREAMING_FLAG.equals(arg)) {
+                streaming = true;
+            } else if (CENTS_FLAG.equals(arg)) {
+                cents = true;
+            } else if (PARALLEL_FLAG.equals(arg)) {
+                parallel = true;
+            } else if (MAPPED_FLAG.equals(arg)) {
+                mapped = true;
+            } else if (PARALLEL_PARSE_FLAG.equals(arg)) {
+                parallelParse = true;
+            } else if (PIPELINED_FLAG.equals(arg)) {
+                pipelined = true;
+            } else if (OFF_HEAP_FLAG.equals(arg)) {
+                offHeap = true;
+            } else if (PREVALIDATE_FLAG.equals(arg)) {
+                prevalidate = true;
+            } else if (arg.startsWith(AUDIT_OPTION)) {
+                auditPath = Path.of(arg.substring(AUDIT_OPTION.length()));
+            } else if (arg.startsWith(AUDIT_SAMPLE_OPTION)) {
+                auditSampleRate = parseRate(arg.substring(AUDIT_SAMPLE_OPTION.length()));
+            } else if (arg.startsWith(SNAPSHOT_OPTION)) {
+                snapshotPath = Path.of(arg.substring(SNAPSHOT_OPTION.length()));
+            } else if (arg.startsWith(JOURNAL_OPTION)) {
+                journalPath = Path.of(arg.substring(JOURNAL_OPTION.length()));
+            } else if (arg.startsWith(CLOSING_BALANCES_OPTION)) {
+                closingBalancesPath = Path.of(arg.substring(CLOSING_BALANCES_OPTION.length()));
+            } else if (arg.startsWith(COLUMNAR_OPTION)) {
+                columnarReportPath = Path.of(arg.substring(COLUMNAR_OPTION.length()));
+            } else if (arg.startsWith(METRICS_OPTION)) {
+                metricsPath = Path.of(arg.substring(METRICS_OPTION.length()));
+            } else if (arg.startsWith(SERVE_OPTION)) {
+                servePort = parsePort(arg.substring(SERVE_OPTION.length()));
+            } else if (arg.startsWith(SHARDS_OPTION)) {
+                shards = parseShards(arg.substring(SHARDS_OPTION.length()));
+            } else if (arg.startsWith(ACCOUNT_FILE_OPTION)) {
+                accountFilePath = Path.of(arg.substring(ACCOUNT_FILE_OPTION.length()));
+            } else if (arg.startsWith("--")) {
+                throw new ValidationException("Unknown option: " + arg);
+            } else {
+                positional.add(arg);
+            }
+        }
+
+        if (parallel && streaming) {
+            throw new ValidationException(PARALLEL_FLAG + " cannot be combined with " + STREAMING_FLAG);
+        }
+        if (parallelParse && streaming) {
+            throw new ValidationException(PARALLEL_PARSE_FLAG + " cannot be combined with " + STREAMING_FLAG);
+        }
+        if (pipelined && (streaming || parallel || parallelParse)) {
+            throw new ValidationException(PIPELINED_FLAG + " cannot be combined with " + STREAMING_FLAG + ", "
+                + PARALLEL_FLAG + " or " + PARALLEL_PARSE_FLAG);
+        }
+        if (journalPath != null && (streaming || parallel)) {
+            throw new ValidationException(JOURNAL_OPTION + " cannot be combined with " + STREAMING_FLAG + " or " + PARALLEL_FLAG);
+        }
+        if (shards > 0 && (streaming || parallel || pipelined || journalPath != null)) {
+            throw new ValidationException(SHARDS_OPTION + " cannot be combined with " + STREAMING_FLAG + ", "
+                + PARALLEL_FLAG + ", " + PIPELINED_FLAG + " or " + JOURNAL_OPTION);
+        }
+        if (prevalidate && (streaming || parallel || pipelined || shards > 0 || journalPath != null)) {
+            throw new ValidationException(PREVALIDATE_FLAG + " cannot be combined with " + STREAMING_FLAG + ", "
+                + PARALLEL_FLAG + ", " + PIPELINED_FLAG + ", " + SHARDS_OPTION + " or " + JOURNAL_OPTION);
+        }
+        Path transferPath = pathAt(positional, 1, DEFAULT_TRANSFER_PATH);
+        boolean multiFile = MultiFileRun.isMultiFile(transferPath);
+        if (multiFile && (streaming || parallel || pipelined || shards > 0 || journalPath != null || snapshotPath != null
+            || columnarReportPath != null || prevalidate)) {
+            throw new ValidationException("A directory or glob of transfer files cannot be combined with " + STREAMING_FLAG
+                + ", " + PARALLEL_FLAG + ", " + PIPELINED_FLAG + ", " + SHARDS_OPTION + ", " + JOURNAL_OPTION + ", "
+                + SNAPSHOT_OPTION + ", " + COLUMNAR_OPTION + " or " + PREVALIDATE_FLAG);
+        }
+        if (journalPath != null && pipelined) {
+            throw new ValidationException(JOURNAL_OPTION + " cannot be combined with " + PIPELINED_FLAG);
+        }
+        if (offHeap && !(streaming || pipelined)) {
+            throw new ValidationException(OFF_HEAP_FLAG + " requires " + STREAMING_FLAG + " or " + PIPELINED_FLAG);
+        }
+        if (offHeap && snapshotPath != null) {
+            throw new ValidationException(OFF_HEAP_FLAG + " cannot be combined with " + SNAPSHOT_OPTION);
+        }
+        if (accountFilePath != null && !(streaming || pipelined)) {
+            throw new ValidationException(ACCOUNT_FILE_OPTION + " requires " + STREAMING_FLAG + " or " + PIPELINED_FLAG);
+        }
+        if (accountFilePath != null && (snapshotPath != null || offHeap)) {
+            throw new ValidationException(ACCOUNT_FILE_OPTION + " cannot be combined with " + SNAPSHOT_OPTION + " or "
+                + OFF_HEAP_FLAG);
+        }
+        if (columnarReportPath != null && (streaming || pipelined || journalPath != null)) {
+            throw new ValidationException(COLUMNAR_OPTION + " cannot be combined with " + STREAMING_FLAG + ", "
+                + PIPELINED_FLAG + " or " + JOURNAL_OPTION);
+        }
+
+        return new RunOptions(
+            pathAt(positional, 0, DEFAULT_BALANCE_PATH),
+            transferPath,
+            pathAt(positional, 2, DEFAULT_REPORT_PATH),
+            pathAt(positional, 3, DEFAULT_BALANCE_ERRORS_PATH),
+            pathAt(positional, 4, DEFAULT_TRANSACTION_ERRORS_PATH),
+            streaming,
+            cents || parallel || mapped || parallelParse || pipelined || multiFile || shards > 0 || offHeap || snapshotPath != null
+                || journalPath != null || accountFilePath != null || prevalidate,
+            parallel,
+            mapped || parallelParse,
+            parallelParse,
+            auditPath,
+            auditSampleRate,
+            snapshotPath,
+            journalPath,
+            closingBalancesPath,
+            columnarReportPath,
+            metricsPath,
+            servePort,
+            pipelined,
+            shards,
+            offHeap,
+            accountFilePath,
+            prevalidate);
+    }
+
+    /**
+     * A directory or a glob such as {@code in/branch-*.csv} as the transfer path selects the multi-file batch mode.
+     */
+    public boolean multiFile() {
+        return MultiFileRun.isMultiFile(transferPath);
+    }
+
+    private static double parseRate(String value) {
+        double rate;
+        try {
+            rate = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid audit sample rate: " + value);
+        }
+        if (!(rate > 0 && rate <= 1)) {
+            throw new ValidationException("Audit sample rate must be in (0, 1]: " + value);
+        }
+        return rate;
+    }
+
+    private static int parsePort(String value) {
+        int port;
+        try {
+            port = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid port: " + value);
+        }
+        if (port < 0 || port > 65535) {
+            throw new ValidationException("Port must be in [0, 65535]: " + value);
+        }
+        return port;
+    }
+
+    private static int parseShards(String value) {
+        int shards;
+        try {
+            shards = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid shard count: " + value);
+        }
+        if (shards < 1) {
+            throw new ValidationException("Shard count must be at least 1: " + value);
+        }
+        return shards;
+    }
+
+    private static Path pathAt(List<String> positional, int index, Path defaultPath) {
+        return positional.size() > index ? Path.of(positional.get(index)) : defaultPath;
+    }
+}
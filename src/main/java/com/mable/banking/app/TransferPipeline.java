@@ -0,0 +1,252 @@
+package com.mable.banking.app;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.LineError;
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.io.ErrorReportAppender;
+import com.mable.banking.io.MappedCsvReader;
+import com.mable.banking.io.TransactionReportAppender;
+import com.mable.banking.service.AccountStore;
+import com.mable.banking.service.CentsTransferProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cents run split into four stages on their own threads, connected by bounded queues:
+ * <ol>
+ *   <li>read — fills blocks of whole lines from the transfer file;</li>
+ *   <li>parse — turns each block into transfers and line errors;</li>
+ *   <li>apply — loads the opening balances, then applies the transfers in file order;</li>
+ *   <li>write — appends report rows and error rows.</li>
+ * </ol>
+ * A full queue blocks the stage feeding it, so at most {@code queueCapacity} blocks wait between two stages
+ * and memory stays bounded whatever the file size. Reading and parsing run while the balances load, and
+ * writing runs while later blocks are applied, so the wall time tends towards the slowest stage.
+ * Output is the same as a sequential streaming run.
+ */
+@Slf4j
+class TransferPipeline {
+
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int STAGES = 4;
+
+    private static final Block END_OF_INPUT = new Block(new byte[0], 0);
+    private static final Batch END_OF_BATCHES = new Batch(List.of(), List.of());
+
+    private final CentsTransferProcessor processor;
+    private final int blockSize;
+    private final int queueCapacity;
+
+    /**
+     * Outcome of a run: the closing balances and what happened to each transfer.
+     */
+    record Result(AccountStore ledger, StatusCounts statusCounts, long transfers, long errors) {
+    }
+
+    TransferPipeline(CentsTransferProcessor processor) {
+        this(processor, BLOCK_SIZE, QUEUE_CAPACITY);
+    }
+
+    TransferPipeline(CentsTransferProcessor processor, int blockSize, int queueCapacity) {
+        this.processor = processor;
+        this.blockSize = blockSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Runs all stages and returns once the last row has been handed to {@code report}. If a stage fails, the
+     * others are interrupted and the first failure is rethrown.
+     */
+    Result run(Callable<? extends AccountStore> openingBalances, Path transferPath,
+               TransactionReportAppender report, ErrorReportAppender errors) throws IOException {
+        if (transferPath == null || !Files.isRegularFile(transferPath)) {
+            throw new ValidationException("Transfer file path must be an existing file: " + transferPath);
+        }
+        log.info("Processing transfers from {} in a {}-stage pipeline", transferPath, STAGES);
+
+        BlockingQueue<Block> blocks = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch> applied = new ArrayBlockingQueue<>(queueCapacity);
+        StatusCounts counts = new StatusCounts();
+        long[] errorCount = new long[1];
+
+        ExecutorService threads = Executors.newFixedThreadPool(STAGES, stageThreads());
+        try {
+            CompletionService<Object> stages = new ExecutorCompletionService<>(threads);
+            stages.submit(() -> read(transferPath, blocks));
+            stages.submit(() -> parse(blocks, parsed));
+            Future<Object> apply = stages.submit(() -> apply(openingBalances, parsed, applied, counts));
+            stages.submit(() -> {
+                errorCount[0] = write(applied, report, errors);
+                return null;
+            });
+            for (int i = 0; i < STAGES; i++) {
+                stages.take().get();
+            }
+
+            AccountStore ledger = (AccountStore) apply.get();
+            return new Result(ledger, counts, counts.total(), errorCount[0]);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankingException("Interrupted while processing " + transferPath, e);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Cuts the file into blocks that end just after a {@code \n}, so no line, and no {@code \r\n} pair, spans two
+     * blocks. A block grows past {@code blockSize} only when a single line is longer than that.
+     */
+    private Void read(Path path, BlockingQueue<Block> blocks) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            byte[] bytes = new byte[blockSize];
+            int filled = 0;
+            while (true) {
+                int read = channel.read(ByteBuffer.wrap(bytes, filled, bytes.length - filled));
+                if (read < 0) {
+                    if (filled > 0) {
+                        blocks.put(new Block(bytes, filled));
+                    }
+                    blocks.put(END_OF_INPUT);
+                    return null;
+                }
+                filled += read;
+                if (filled < bytes.length) {
+                    continue;
+                }
+
+                int cut = lastLineEnd(bytes, filled);
+                if (cut == 0) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                    continue;
+                }
+                byte[] next = new byte[Math.max(blockSize, filled - cut)];
+                System.arraycopy(bytes, cut, next, 0, filled - cut);
+                blocks.put(new Block(bytes, cut));
+                bytes = next;
+                filled -= cut;
+            }
+        }
+    }
+
+    private static int lastLineEnd(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static Void parse(BlockingQueue<Block> blocks, BlockingQueue<Batch> parsed) throws InterruptedException {
+        MappedCsvReader reader = new MappedCsvReader();
+        int lineOffset = 0;
+        for (Block block = blocks.take(); block != END_OF_INPUT; block = blocks.take()) {
+            Batch batch = new Batch(new ArrayList<>(), new ArrayList<>());
+            lineOffset += reader.readCents(block.bytes, block.length, lineOffset, batch.transfers::add, batch.errors::add);
+            parsed.put(batch);
+        }
+        parsed.put(END_OF_BATCHES);
+        return null;
+    }
+
+    private AccountStore apply(Callable<? extends AccountStore> openingBalances, BlockingQueue<Batch> parsed,
+                              BlockingQueue<Batch> applied, StatusCounts counts) throws Exception {
+        AccountStore ledger = openingBalances.call();
+        for (Batch batch = parsed.take(); batch != END_OF_BATCHES; batch = parsed.take()) {
+            TransactionStatus[] statuses = new TransactionStatus[batch.transfers.size()];
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = processor.applyStatus(ledger, batch.transfers.get(i));
+                counts.increment(statuses[i]);
+            }
+            batch.statuses = statuses;
+            applied.put(batch);
+        }
+        applied.put(END_OF_BATCHES);
+        return ledger;
+    }
+
+    private static long write(BlockingQueue<Batch> applied, TransactionReportAppender report,
+                              ErrorReportAppender errors) throws IOException, InterruptedException {
+        for (Batch batch = applied.take(); batch != END_OF_BATCHES; batch = applied.take()) {
+            for (int i = 0; i < batch.statuses.length; i++) {
+                report.append(batch.transfers.get(i), batch.statuses[i]);
+            }
+            for (LineError error : batch.errors) {
+                errors.append(error);
+            }
+        }
+        return errors.errorCount();
+    }
+
+    private static RuntimeException rethrow(Throwable cause) throws IOException {
+        if (cause instanceof IOException e) {
+            throw e;
+        }
+        if (cause instanceof UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (cause instanceof RuntimeException e) {
+            return e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new BankingException("Pipeline stage failed: " + cause.getMessage(), cause);
+    }
+
+    private static ThreadFactory stageThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pipeline-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Block(byte[] bytes, int length) {
+    }
+
+    /**
+     * Transfers and errors parsed from one block; {@code statuses} is filled in by the apply stage.
+     */
+    private static final class Batch {
+
+        private final List<CentsTransfer> transfers;
+        private final List<LineError> errors;
+        private TransactionStatus[] statuses;
+
+        Batch(List<CentsTransfer> transfers, List<LineError> errors) {
+            this.transfers = transfers;
+            this.errors = errors;
+        }
+    }
+}
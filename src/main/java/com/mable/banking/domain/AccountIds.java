@@ -0,0 +1,45 @@
+package com.mable.banking.domain;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts validated 16-digit account IDs to and from their {@code long} form.
+ */
+public final class AccountIds {
+
+    public static final int LENGTH = 16;
+
+    private AccountIds() {
+    }
+
+    public static long toLong(String validatedAccountId) {
+        return Long.parseLong(validatedAccountId);
+    }
+
+    /**
+     * Parses exactly {@value #LENGTH} ASCII digits in {@code [start, end)}, or returns -1.
+     */
+    public static long parse(ByteBuffer bytes, int start, int end) {
+        if (end - start != LENGTH) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            id = id * 10 + digit;
+        }
+        return id;
+    }
+
+    public static String format(long accountId) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + accountId % 10);
+            accountId /= 10;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,4 @@
+package com.mable.banking.domain;
+
+public record CentsTransfer(long fromAccountId, long toAccountId, long amountCents) {
+}
@@ -0,0 +1,168 @@
+package com.mable.banking.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-point helpers for amounts held as {@code long} cents (scale 2).
+ */
+public final class Money {
+
+    /**
+     * Returned by {@link #parseCents(String)} when the text is not a plain decimal that fits in cents.
+     * Callers fall back to {@link BigDecimal} parsing so errors and rounding behave exactly as before.
+     */
+    public static final long NOT_PLAIN = Long.MIN_VALUE;
+
+    private static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long parseCents(String text) {
+        return parseCents(text, 0, text.length());
+    }
+
+    /**
+     * Parses the characters in {@code [start, end)} without allocating; see {@link #parseCents(String)}.
+     */
+    public static long parseCents(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int digits = 0;
+        while (i < end && isAsciiDigit(text.charAt(i))) {
+            units = accumulate(units, text.charAt(i));
+            if (units < 0) {
+                return NOT_PLAIN;
+            }
+            digits++;
+            i++;
+        }
+
+        long fraction = 0;
+        if (i < end && text.charAt(i) == '.') {
+            i++;
+            int fractionDigits = 0;
+            while (i < end && isAsciiDigit(text.charAt(i))) {
+                char c = text.charAt(i);
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + (c - '0');
+                } else if (c != '0') {
+                    return NOT_PLAIN;
+                }
+                fractionDigits++;
+                digits++;
+                i++;
+            }
+            for (; fractionDigits < SCALE; fractionDigits++) {
+                fraction *= 10;
+            }
+        }
+
+        if (i != end || digits == 0) {
+            return NOT_PLAIN;
+        }
+        if (units > (Long.MAX_VALUE - fraction) / 100) {
+            return NOT_PLAIN;
+        }
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Byte-level twin of {@link #parseCents(String)} for ASCII text in {@code [start, end)}.
+     */
+    public static long parseCents(ByteBuffer bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes.get(i) == '+' || bytes.get(i) == '-')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int digits = 0;
+        while (i < end && isAsciiDigit(bytes.get(i))) {
+            units = accumulate(units, (char) bytes.get(i));
+            if (units < 0) {
+                return NOT_PLAIN;
+            }
+            digits++;
+            i++;
+        }
+
+        long fraction = 0;
+        if (i < end && bytes.get(i) == '.') {
+            i++;
+            int fractionDigits = 0;
+            while (i < end && isAsciiDigit(bytes.get(i))) {
+                byte b = bytes.get(i);
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + (b - '0');
+                } else if (b != '0') {
+                    return NOT_PLAIN;
+                }
+                fractionDigits++;
+                digits++;
+                i++;
+            }
+            for (; fractionDigits < SCALE; fractionDigits++) {
+                fraction *= 10;
+            }
+        }
+
+        if (i != end || digits == 0) {
+            return NOT_PLAIN;
+        }
+        if (units > (Long.MAX_VALUE - fraction) / 100) {
+            return NOT_PLAIN;
+        }
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(24);
+        appendTo(sb, cents);
+        return sb.toString();
+    }
+
+    public static void appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append(toBigDecimal(cents).toPlainString());
+            return;
+        }
+        long fraction = cents % 100;
+        sb.append(cents / 100).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    private static boolean isAsciiDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long accumulate(long value, char digit) {
+        if (value > (Long.MAX_VALUE - 9) / 10) {
+            return -1;
+        }
+        return value * 10 + (digit - '0');
+    }
+}
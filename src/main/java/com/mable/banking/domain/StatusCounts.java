@@ -0,0 +1,62 @@
+package com.mable.banking.domain;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Number of transfers per {@link TransactionStatus}, counted while transfers are applied.
+ */
+@EqualsAndHashCode
+public final class StatusCounts {
+
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    private final long[] counts = new long[STATUSES.length];
+
+    public void increment(TransactionStatus status) {
+        counts[status.ordinal()]++;
+    }
+
+    /**
+     * Adds every count of {@code other} to this one, e.g. to total several runs.
+     */
+    public void add(StatusCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long get(TransactionStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public Map<TransactionStatus, Long> asMap() {
+        Map<TransactionStatus, Long> map = new EnumMap<>(TransactionStatus.class);
+        for (TransactionStatus status : STATUSES) {
+            map.put(status, counts[status.ordinal()]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (TransactionStatus status : STATUSES) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(counts[status.ordinal()]).append(' ').append(status);
+        }
+        return sb.toString();
+    }
+}
@@ -1,11 +1,18 @@
 package com.mable.banking.io;
 
 import com.mable.banking.domain.Account;
+import com.mable.banking.domain.AccountIds;
 import com.mable.banking.domain.BalanceLoadResult;
 import com.mable.banking.domain.LineError;
+import com.mable.banking.domain.Money;
 import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.AccountSink;
+import com.mable.banking.service.AccountStore;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.SortedAccountIndex;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
@@ -16,8 +23,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import static com.mable.banking.io.CsvFields.trimEnd;
+import static com.mable.banking.io.CsvFields.trimStart;
+import static com.mable.banking.service.Validator.parseAccountId;
 import static com.mable.banking.service.Validator.validateAccountId;
 import static com.mable.banking.service.Validator.validateBalance;
+import static com.mable.banking.service.Validator.validateBalanceCents;
 
 @Slf4j
 public class AccountCsvReader {
@@ -43,6 +54,93 @@ public class AccountCsvReader {
         return new BalanceLoadResult(accounts, errors);
     }
 
+    public LedgerLoadResult loadLedger(Path path) throws IOException {
+        CentsLedger ledger = new CentsLedger(1024);
+        return new LedgerLoadResult(ledger, loadInto(path, ledger));
+    }
+
+    /**
+     * Adds every valid balance line to {@code store} and returns the rejected lines.
+     */
+    public List<LineError> loadInto(Path path, AccountStore store) throws IOException {
+        List<LineError> errors = readBalances(path, store);
+        log.info("Loaded {} accounts, {} errors from balance file", store.size(), errors.size());
+        return errors;
+    }
+
+    /**
+     * Loads balances into a {@link SortedAccountIndex} in one pass. A file already sorted by account ID is
+     * appended as read and never sorted again.
+     */
+    public SortedIndexLoadResult loadSortedIndex(Path path) throws IOException {
+        SortedAccountIndex.Builder builder = new SortedAccountIndex.Builder(1024);
+        List<LineError> errors = readBalances(path, builder);
+        SortedAccountIndex index = builder.build();
+        log.info("Loaded {} accounts, {} errors from balance file", index.size(), errors.size());
+        return new SortedIndexLoadResult(index, errors);
+    }
+
+    private static List<LineError> readBalances(Path path, AccountSink sink) throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new ValidationException("Balance file path must be an existing file: " + path);
+        }
+        log.info("Loading balances from {}", path);
+
+        List<LineError> errors = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lineNumber++;
+                parseLedgerBalance(line, lineNumber, errors, sink);
+            }
+        }
+        return errors;
+    }
+
+    static void parseLedgerBalance(String line, int lineNumber, List<LineError> errors, AccountSink ledger) {
+        int comma = line.indexOf(',');
+        boolean twoColumns = comma >= 0 && line.indexOf(',', comma + 1) < 0;
+        long accountId;
+        long balanceCents = Money.NOT_PLAIN;
+        if (twoColumns) {
+            int balanceStart = trimStart(line, comma + 1, line.length());
+            balanceCents = Money.parseCents(line, balanceStart, trimEnd(line, balanceStart, line.length()));
+        }
+        if (balanceCents == Money.NOT_PLAIN) {
+            // Wrong column counts and anything outside the plain decimal form take the BigDecimal route.
+            ParseLineResult parsed = parseLine(line, lineNumber);
+            if (parsed.error != null) {
+                errors.add(parsed.error);
+                return;
+            }
+            accountId = AccountIds.toLong(parsed.account.getAccountId());
+            try {
+                balanceCents = validateBalanceCents(parsed.account.getBalance());
+            } catch (ValidationException e) {
+                errors.add(new LineError(lineNumber, line, e.getMessage()));
+                return;
+            }
+        } else {
+            try {
+                int idStart = trimStart(line, 0, comma);
+                accountId = parseAccountId(line, idStart, trimEnd(line, idStart, comma), null);
+                balanceCents = validateBalanceCents(balanceCents);
+            } catch (ValidationException e) {
+                errors.add(new LineError(lineNumber, line, e.getMessage()));
+                return;
+            }
+        }
+
+        if (ledger.add(accountId, balanceCents) < 0) {
+            errors.add(new LineError(lineNumber, line, "Duplicate account ID " + AccountIds.format(accountId)));
+        }
+    }
+
     private static void parseAccountBalance(String line, int lineNumber, List<LineError> errors, Map<String, Account> accounts) {
         ParseLineResult parsed = parseLine(line, lineNumber);
         if (parsed.error != null) {
@@ -0,0 +1,154 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.TransferAudit;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampled per-transfer audit trail written by a background thread.
+ * <p>
+ * Every result gets a 1-based sequence number; one in {@code round(1 / sampleRate)} is formatted and queued.
+ * The writer thread drains the queue in batches and flushes once per batch, so processing threads never
+ * touch the file. A full queue blocks the caller rather than dropping audit records.
+ */
+@Slf4j
+public class AuditLogWriter implements TransferAudit, Closeable {
+
+    private static final String HEADER = "Sequence,From Account,To Account,Amount,Status";
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 1024;
+    private static final String END = "";
+
+    private final Path path;
+    private final long sampleEvery;
+    private final AtomicLong sequence = new AtomicLong();
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private volatile IOException failure;
+    private long written;
+
+    public AuditLogWriter(Path path, double sampleRate) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Audit path cannot be null");
+        }
+        if (!(sampleRate > 0 && sampleRate <= 1)) {
+            throw new ValidationException("Audit sample rate must be in (0, 1]: " + sampleRate);
+        }
+        this.path = path;
+        this.sampleEvery = Math.max(1, Math.round(1 / sampleRate));
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        BufferedWriter writer = Files.newBufferedWriter(path);
+        writer.write(HEADER);
+        writer.newLine();
+
+        this.writerThread = new Thread(() -> drain(writer), "transfer-audit");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void record(TransactionResult result) {
+        long seq = sequence.incrementAndGet();
+        if (seq % sampleEvery != 0) {
+            return;
+        }
+        String line = seq + "," + result.fromAccountId() + "," + result.toAccountId() + ","
+            + result.amountDisplay() + "," + result.status();
+        try {
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankingException("Interrupted while queueing audit record", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing audit log " + path, e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        log.info("Wrote {} of {} transfer audit records to {}", written, sequence.get(), path);
+    }
+
+    private void drain(BufferedWriter writer) {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        boolean done = false;
+        while (!done) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            for (String line : batch) {
+                if (line == END) {
+                    done = true;
+                    break;
+                }
+                writeLine(writer, line);
+            }
+            batch.clear();
+            flush(writer);
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // After a write failure the thread keeps draining so producers never block on a full queue.
+    private void writeLine(BufferedWriter writer, String line) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.newLine();
+            written++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void flush(BufferedWriter writer) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+}
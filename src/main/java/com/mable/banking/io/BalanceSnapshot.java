@@ -0,0 +1,9 @@
+package com.mable.banking.io;
+
+import com.mable.banking.service.CentsLedger;
+
+/**
+ * Closing balances persisted by a previous run, together with the history of files that produced them.
+ */
+public record BalanceSnapshot(CentsLedger ledger, SnapshotHistory history) {
+}
@@ -0,0 +1,217 @@
+package com.mable.banking.io;
+
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.AccountStore;
+import com.mable.banking.service.CentsLedger;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes binary snapshots of closing balances so a run can start where the previous one stopped.
+ *
+ * <p>Layout (little-endian): magic, version, account count, the {@link SnapshotHistory} (CRC32C of the balance
+ * file the chain started from, the number of transfer files recorded and their {@link #transferFileKey keys}), then one
+ * {@code (long accountId, long balanceCents)} pair per account in ledger order, and finally a CRC32C of
+ * everything before it. Snapshots are written to a sibling temp file and moved into place, so a crash mid-write
+ * leaves the previous snapshot intact.</p>
+ *
+ * <p>Version 1 snapshots, which recorded only the last transfer file, are still read; their balance file is
+ * {@link SnapshotHistory#UNKNOWN}.</p>
+ */
+@Slf4j
+public class BalanceSnapshotFile {
+
+    static final int MAGIC = 0x4E53424D; // "MBSN"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 4;
+    static final int V1_HEADER_SIZE = 4 + 4 + 4 + 8;
+    static final int ENTRY_SIZE = 8 + 8;
+    static final int TRAILER_SIZE = 8;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes a snapshot whose history holds only {@code transferFileKey}, as used for journal checkpoints.
+     */
+    public void write(Path path, AccountStore ledger, long transferFileKey) throws IOException {
+        write(path, ledger, SnapshotHistory.startingFrom(SnapshotHistory.UNKNOWN).then(transferFileKey));
+    }
+
+    public void write(Path path, AccountStore ledger, SnapshotHistory history) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Snapshot path cannot be null");
+        }
+        if (ledger == null) {
+            throw new ValidationException("Ledger cannot be null");
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(temp,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(ledger.size()).putLong(history.balancesChecksum())
+                .putInt(history.transferFileKeys().size());
+            for (long transferFileKey : history.transferFileKeys()) {
+                if (buffer.remaining() < Long.BYTES) {
+                    drain(channel, buffer, crc);
+                }
+                buffer.putLong(transferFileKey);
+            }
+            for (int i = 0; i < ledger.size(); i++) {
+                if (buffer.remaining() < ENTRY_SIZE) {
+                    drain(channel, buffer, crc);
+                }
+                buffer.putLong(ledger.accountId(i)).putLong(ledger.balance(i));
+            }
+            drain(channel, buffer, crc);
+            buffer.putLong(crc.getValue());
+            drain(channel, buffer, null);
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote snapshot of {} balances to {}", ledger.size(), path);
+    }
+
+    public BalanceSnapshot read(Path path) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Snapshot path cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer bytes = map(path, channel);
+            Header header = readHeader(path, bytes, size);
+
+            CRC32C crc = new CRC32C();
+            int bodyEnd = (int) (size - TRAILER_SIZE);
+            crc.update(bytes.duplicate().position(0).limit(bodyEnd));
+            if (crc.getValue() != bytes.getLong(bodyEnd)) {
+                throw corrupt(path, "checksum mismatch");
+            }
+
+            CentsLedger ledger = new CentsLedger(header.count());
+            for (int i = 0, offset = header.entriesStart(); i < header.count(); i++, offset += ENTRY_SIZE) {
+                if (ledger.add(bytes.getLong(offset), bytes.getLong(offset + 8)) < 0) {
+                    throw corrupt(path, "duplicate account at entry " + i);
+                }
+            }
+            log.info("Loaded snapshot of {} balances from {}", header.count(), path);
+            return new BalanceSnapshot(ledger, header.history());
+        }
+    }
+
+    /**
+     * Reads only the history of a snapshot, without its balances. The body checksum is not verified, so this is
+     * meant for a snapshot that {@link #read} has already accepted during the run.
+     */
+    public SnapshotHistory readHistory(Path path) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Snapshot path cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(path, map(path, channel), channel.size()).history();
+        }
+    }
+
+    /**
+     * Identifies one transfer file for replay checks: the CRC32C of its name and size in the high 32 bits and the
+     * CRC32C of its contents in the low 32 bits. Files with the same bytes, such as two days without transfers,
+     * get different keys as long as they are named apart, as dated transfer files are.
+     */
+    public long transferFileKey(Path path) throws IOException {
+        CRC32C file = new CRC32C();
+        file.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+        file.update(ByteBuffer.allocate(Long.BYTES).putLong(Files.size(path)).flip());
+        return file.getValue() << 32 | checksum(path);
+    }
+
+    /**
+     * CRC32C of a file's contents.
+     */
+    public long checksum(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static ByteBuffer map(Path path, FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < V1_HEADER_SIZE + TRAILER_SIZE) {
+            throw corrupt(path, "file is truncated");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static Header readHeader(Path path, ByteBuffer bytes, long size) {
+        if (bytes.getInt(0) != MAGIC) {
+            throw corrupt(path, "not a balance snapshot");
+        }
+        int version = bytes.getInt(4);
+        int count = bytes.getInt(8);
+        SnapshotHistory history;
+        long entriesStart;
+        if (version == 1) {
+            history = SnapshotHistory.startingFrom(SnapshotHistory.UNKNOWN).then(bytes.getLong(12));
+            entriesStart = V1_HEADER_SIZE;
+        } else if (version == VERSION) {
+            if (size < HEADER_SIZE + TRAILER_SIZE) {
+                throw corrupt(path, "file is truncated");
+            }
+            int transferFiles = bytes.getInt(20);
+            if (transferFiles < 0 || transferFiles > SnapshotHistory.MAX_TRANSFER_FILES
+                || size < HEADER_SIZE + (long) transferFiles * Long.BYTES + TRAILER_SIZE) {
+                throw corrupt(path, "bad transfer file count " + transferFiles);
+            }
+            List<Long> transferFileKeys = new ArrayList<>(transferFiles);
+            for (int i = 0; i < transferFiles; i++) {
+                transferFileKeys.add(bytes.getLong(HEADER_SIZE + i * Long.BYTES));
+            }
+            history = new SnapshotHistory(bytes.getLong(12), transferFileKeys);
+            entriesStart = HEADER_SIZE + (long) transferFiles * Long.BYTES;
+        } else {
+            throw corrupt(path, "unsupported version " + version);
+        }
+        if (count < 0 || size != entriesStart + (long) count * ENTRY_SIZE + TRAILER_SIZE) {
+            throw corrupt(path, "size does not match account count " + count);
+        }
+        return new Header(count, history, (int) entriesStart);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static BankingException corrupt(Path path, String reason) {
+        return new BankingException("Corrupt balance snapshot " + path + ": " + reason);
+    }
+
+    private record Header(int count, SnapshotHistory history, int entriesStart) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.LineError;
+
+import java.util.List;
+
+public record CentsTransactionLoadResult(List<CentsTransfer> transfers, List<LineError> errors) {
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
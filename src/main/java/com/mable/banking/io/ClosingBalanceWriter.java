@@ -0,0 +1,58 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.AccountStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Writes closing balances as {@code accountId,balance} lines, in the same layout and account order as the
+ * balance input file, so the output can feed the next run directly.
+ */
+@Slf4j
+public class ClosingBalanceWriter {
+
+    public void write(Path path, AccountStore ledger) throws IOException {
+        if (ledger == null) {
+            throw new ValidationException("Ledger cannot be null");
+        }
+        try (CsvByteWriter out = open(path)) {
+            for (int i = 0; i < ledger.size(); i++) {
+                out.putAccountId(ledger.accountId(i));
+                out.putByte((byte) ',');
+                out.putCents(ledger.balance(i));
+                out.endLine();
+            }
+        }
+        log.info("Wrote {} closing balances to {}", ledger.size(), path);
+    }
+
+    public void write(Path path, Map<String, Account> accounts) throws IOException {
+        if (accounts == null) {
+            throw new ValidationException("Accounts cannot be null");
+        }
+        try (CsvByteWriter out = open(path)) {
+            for (Account account : accounts.values()) {
+                out.putString(account.getAccountId());
+                out.putByte((byte) ',');
+                out.putString(account.getBalance().toPlainString());
+                out.endLine();
+            }
+        }
+        log.info("Wrote {} closing balances to {}", accounts.size(), path);
+    }
+
+    private static CsvByteWriter open(Path path) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Closing balance path cannot be null");
+        }
+        return new CsvByteWriter(FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+}
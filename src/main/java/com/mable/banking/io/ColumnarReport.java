@@ -0,0 +1,105 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a file written by {@link ColumnarReportWriter}. Each column is mapped
+ * separately, so a scan over one column touches only that block's pages.
+ */
+public class ColumnarReport implements Closeable {
+
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    private final FileChannel channel;
+    private final int rowCount;
+    private final LongBuffer fromAccountIds;
+    private final LongBuffer toAccountIds;
+    private final LongBuffer amountsCents;
+    private final ByteBuffer statuses;
+
+    private ColumnarReport(FileChannel channel, int rowCount, LongBuffer fromAccountIds, LongBuffer toAccountIds,
+                           LongBuffer amountsCents, ByteBuffer statuses) {
+        this.channel = channel;
+        this.rowCount = rowCount;
+        this.fromAccountIds = fromAccountIds;
+        this.toAccountIds = toAccountIds;
+        this.amountsCents = amountsCents;
+        this.statuses = statuses;
+    }
+
+    public static ColumnarReport open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < ColumnarReportWriter.HEADER_SIZE) {
+                throw corrupt(path, "file is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, ColumnarReportWriter.HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != ColumnarReportWriter.MAGIC) {
+                throw corrupt(path, "not a columnar report");
+            }
+            if (header.getInt(4) != ColumnarReportWriter.VERSION) {
+                throw corrupt(path, "unsupported version " + header.getInt(4));
+            }
+            long rows = header.getLong(8);
+            long statusOffset = header.getLong(40);
+            if (rows < 0 || rows > Integer.MAX_VALUE / Long.BYTES || statusOffset + rows > channel.size()) {
+                throw corrupt(path, "row count " + rows + " does not fit the file");
+            }
+            int rowCount = (int) rows;
+            return new ColumnarReport(channel, rowCount,
+                mapLongs(channel, header.getLong(16), rowCount),
+                mapLongs(channel, header.getLong(24), rowCount),
+                mapLongs(channel, header.getLong(32), rowCount),
+                channel.map(FileChannel.MapMode.READ_ONLY, statusOffset, rowCount));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public long fromAccountId(int row) {
+        return fromAccountIds.get(row);
+    }
+
+    public long toAccountId(int row) {
+        return toAccountIds.get(row);
+    }
+
+    public long amountCents(int row) {
+        return amountsCents.get(row);
+    }
+
+    public TransactionStatus status(int row) {
+        return STATUSES[statuses.get(row)];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static LongBuffer mapLongs(FileChannel channel, long offset, int rows) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) rows * Long.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asLongBuffer();
+    }
+
+    private static BankingException corrupt(Path path, String reason) {
+        return new BankingException("Corrupt columnar report " + path + ": " + reason);
+    }
+}
@@ -0,0 +1,144 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+import static com.mable.banking.service.Validator.validateTransferAmountCents;
+
+/**
+ * Writes transaction results as a columnar binary file that readers can memory-map instead of parsing CSV.
+ *
+ * <p>Layout (little-endian): a 64-byte header with magic, version, row count and the offsets of four column
+ * blocks, then the blocks themselves, each starting on a 64-byte boundary:</p>
+ * <ul>
+ *   <li>from account IDs — {@code long[rowCount]};</li>
+ *   <li>to account IDs — {@code long[rowCount]};</li>
+ *   <li>amounts in cents — {@code long[rowCount]};</li>
+ *   <li>statuses — {@code byte[rowCount]} holding {@link TransactionStatus} ordinals.</li>
+ * </ul>
+ *
+ * @see ColumnarReport
+ */
+@Slf4j
+public class ColumnarReportWriter {
+
+    static final int MAGIC = 0x52434D42; // "BMCR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int ALIGNMENT = 64;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes the results of a {@code BigDecimal} run; IDs and amounts are parsed back from their display form.
+     */
+    public void write(Path path, List<TransactionResult> results) throws IOException {
+        if (results == null) {
+            throw new ValidationException("Results cannot be null");
+        }
+        write(path, results.size(), i -> AccountIds.toLong(results.get(i).fromAccountId()),
+            i -> AccountIds.toLong(results.get(i).toAccountId()), i -> amountCents(results.get(i)),
+            i -> results.get(i).status());
+    }
+
+    /**
+     * Writes the results of a cents run straight from its transfers and statuses.
+     */
+    public void write(Path path, List<CentsTransfer> transfers, TransactionStatus[] statuses) throws IOException {
+        if (transfers == null || statuses == null || statuses.length != transfers.size()) {
+            throw new ValidationException("Transfers must be given with one status each");
+        }
+        write(path, statuses.length, i -> transfers.get(i).fromAccountId(), i -> transfers.get(i).toAccountId(),
+            i -> transfers.get(i).amountCents(), i -> statuses[i]);
+    }
+
+    private void write(Path path, int rows, IntToLongFunction from, IntToLongFunction to, IntToLongFunction amount,
+                       IntFunction<TransactionStatus> status) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Report path cannot be null");
+        }
+        long fromOffset = HEADER_SIZE;
+        long toOffset = align(fromOffset + (long) rows * Long.BYTES);
+        long amountOffset = align(toOffset + (long) rows * Long.BYTES);
+        long statusOffset = align(amountOffset + (long) rows * Long.BYTES);
+
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(rows)
+                .putLong(fromOffset).putLong(toOffset).putLong(amountOffset).putLong(statusOffset);
+            pad(channel, buffer, fromOffset);
+
+            writeLongs(channel, buffer, rows, from);
+            pad(channel, buffer, toOffset);
+            writeLongs(channel, buffer, rows, to);
+            pad(channel, buffer, amountOffset);
+            writeLongs(channel, buffer, rows, amount);
+            pad(channel, buffer, statusOffset);
+            for (int i = 0; i < rows; i++) {
+                if (!buffer.hasRemaining()) {
+                    drain(channel, buffer);
+                }
+                buffer.put((byte) status.apply(i).ordinal());
+            }
+            drain(channel, buffer);
+        }
+        log.info("Wrote {} columnar transaction results to {}", rows, path);
+    }
+
+    private static long amountCents(TransactionResult result) {
+        long cents = Money.parseCents(result.amountDisplay());
+        return cents != Money.NOT_PLAIN ? cents : validateTransferAmountCents(new BigDecimal(result.amountDisplay()));
+    }
+
+    private static void writeLongs(FileChannel channel, ByteBuffer buffer, int rows, IntToLongFunction column)
+        throws IOException {
+        for (int i = 0; i < rows; i++) {
+            if (buffer.remaining() < Long.BYTES) {
+                drain(channel, buffer);
+            }
+            buffer.putLong(column.applyAsLong(i));
+        }
+    }
+
+    /**
+     * Zero-fills up to {@code offset}, counting bytes already written to the channel and still in the buffer.
+     */
+    private static void pad(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        long position = channel.position() + buffer.position();
+        for (; position < offset; position++) {
+            if (!buffer.hasRemaining()) {
+                drain(channel, buffer);
+            }
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static long align(long offset) {
+        return (offset + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
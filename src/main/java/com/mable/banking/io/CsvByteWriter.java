@@ -0,0 +1,134 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes CSV fields straight into a reusable byte buffer and drains it through a {@link FileChannel}.
+ * Text is written as UTF-8; account IDs and cents are encoded digit by digit without building Strings.
+ */
+class CsvByteWriter implements Closeable {
+
+    static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_CENTS_LENGTH = 19 + 1 + 2;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+
+    CsvByteWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    void putAccountId(long accountId) throws IOException {
+        ensureRoom(AccountIds.LENGTH);
+        for (int i = AccountIds.LENGTH - 1; i >= 0; i--) {
+            digits[i] = (byte) ('0' + accountId % 10);
+            accountId /= 10;
+        }
+        buffer.put(digits, 0, AccountIds.LENGTH);
+    }
+
+    /**
+     * Writes {@code cents} as {@link Money#format(long)} would.
+     */
+    void putCents(long cents) throws IOException {
+        if (cents < 0) {
+            putString(Money.format(cents));
+            return;
+        }
+        ensureRoom(MAX_CENTS_LENGTH);
+        long units = cents / 100;
+        int fraction = (int) (cents % 100);
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        buffer.put(digits, start, digits.length - start);
+        buffer.put((byte) '.');
+        buffer.put((byte) ('0' + fraction / 10));
+        buffer.put((byte) ('0' + fraction % 10));
+    }
+
+    void putString(String value) throws IOException {
+        int length = value.length();
+        if (length * 3 > BUFFER_SIZE) {
+            putBytes(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        ensureRoom(length * 3);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                buffer.put(value.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    void putByte(byte b) throws IOException {
+        ensureRoom(1);
+        buffer.put(b);
+    }
+
+    void putBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    void endLine() throws IOException {
+        putBytes(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes out buffered bytes and forces them to disk.
+     *
+     * @return the durable length of the file in bytes
+     */
+    long sync() throws IOException {
+        flush();
+        channel.force(false);
+        return channel.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mable.banking.io;
+
+final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    static int trimStart(String line, int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    static int trimEnd(String line, int start, int end) {
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
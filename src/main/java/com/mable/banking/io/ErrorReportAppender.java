@@ -0,0 +1,49 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.LineError;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams line errors to a report file. The file is only created once the first error arrives,
+ * matching {@link ErrorReportWriter#write} which skips the file for an empty error list.
+ */
+public class ErrorReportAppender implements Closeable {
+
+    private final Path path;
+    private BufferedWriter writer;
+    private long errorCount;
+
+    ErrorReportAppender(Path path) {
+        this.path = path;
+    }
+
+    public void append(LineError error) throws IOException {
+        if (writer == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path);
+            writer.write(ErrorReportWriter.HEADER);
+            writer.newLine();
+        }
+        writer.write(ErrorReportWriter.formatRow(error));
+        writer.newLine();
+        errorCount++;
+    }
+
+    public long errorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
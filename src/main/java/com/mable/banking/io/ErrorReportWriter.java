@@ -13,7 +13,7 @@ import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 @Slf4j
 public class ErrorReportWriter {
 
-    private static final String HEADER = "Line Number,Line,Error";
+    static final String HEADER = "Line Number,Line,Error";
 
     public void write(java.nio.file.Path path, List<LineError> errors) throws IOException {
         if (path == null) {
@@ -29,14 +29,25 @@ public class ErrorReportWriter {
         lines.add(HEADER);
 
         for (LineError e : errors) {
-            String escapedLine = escapeCsvField(e.line());
-            String escapedMsg = escapeCsvField(e.errorMessage());
-            lines.add(e.lineNumber() + "," + escapedLine + "," + escapedMsg);
+            lines.add(formatRow(e));
         }
 
         Files.write(path, lines);
     }
 
+    public ErrorReportAppender open(java.nio.file.Path path) {
+        if (path == null) {
+            throw new ValidationException("Report path cannot be null");
+        }
+        return new ErrorReportAppender(path);
+    }
+
+    static String formatRow(LineError e) {
+        String escapedLine = escapeCsvField(e.line());
+        String escapedMsg = escapeCsvField(e.errorMessage());
+        return e.lineNumber() + "," + escapedLine + "," + escapedMsg;
+    }
+
     private static String escapeCsvField(String value) {
         if (value == null) return "";
         if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
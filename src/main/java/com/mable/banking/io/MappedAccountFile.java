@@ -0,0 +1,469 @@
+package com.mable.banking.io;
+
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.AbstractAccountStore;
+import com.mable.banking.service.AccountStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Persistent {@link AccountStore} kept in a memory-mapped file and updated in place, so a run starts without
+ * parsing any balances and only the pages holding accounts it touches are read from disk.
+ *
+ * <p>Layout (little-endian): a 32-byte header (magic, version, capacity, slot count, account count, state, key
+ * of the last transfer file committed, see {@link BalanceSnapshotFile#transferFileKey}), then {@code capacity} account IDs, {@code capacity} balances, both as
+ * {@code long}, and an open-addressing table of {@code int} slots holding {@code index + 1} (0 = empty). The table
+ * is sized for the capacity up front, so adding accounts never moves anything.</p>
+ *
+ * <p>Balances of committed accounts are not written to the mapping during a run. Changes are kept in memory,
+ * keyed by account index, so a run's cost grows with the accounts it touches and an abandoned run leaves the file
+ * as it was. {@link #commit} first writes and forces a commit record next to the file ({@code <file>.commit}:
+ * new account count, transfer file key, one {@code (index, old, new)} entry per touched balance and a CRC32C
+ * trailer). Only then does it write the new balances into the mapping, force it, record the count and key
+ * in the header and delete the record. Accounts added during a run go straight into the mapping beyond the
+ * committed count, and the file is marked in use meanwhile.</p>
+ *
+ * <p>On open, a complete commit record is replayed, which finishes a commit that was cut short. Otherwise a file
+ * left in use drops the slots of accounts added since the last commit. IDs and slots of committed accounts never
+ * change and the slot table never moves, so this gives back exactly the last committed file. A file whose first
+ * build from the balance CSV never committed is refused.</p>
+ */
+@Slf4j
+public class MappedAccountFile extends AbstractAccountStore implements Closeable {
+
+    static final int MAGIC = 0x4641424D; // "MBAF"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int MAX_ACCOUNTS = 1 << 27;
+    static final int RECORD_MAGIC = 0x4341424D; // "MBAC"
+    static final int RECORD_HEADER_SIZE = 20;
+    static final int RECORD_ENTRY_SIZE = 20;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int TABLE_SIZE_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+    private static final int STATE_OFFSET = 20;
+    private static final int CHECKSUM_OFFSET = 24;
+    private static final int CLEAN = 0;
+    private static final int BUILDING = 1;
+    private static final int IN_USE = 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer accountIds;
+    private final MappedByteBuffer balances;
+    private final MappedByteBuffer slots;
+    private final int capacity;
+    private final int mask;
+    private final TouchedBalances touched = new TouchedBalances();
+    private int size;
+    private int committed;
+    private boolean inUse;
+
+    private MappedAccountFile(Path path, FileChannel channel, int capacity, int tableSize) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.mask = tableSize - 1;
+        long idsStart = HEADER_SIZE;
+        long balancesStart = idsStart + (long) capacity * Long.BYTES;
+        long slotsStart = balancesStart + (long) capacity * Long.BYTES;
+        this.header = map(0, HEADER_SIZE);
+        this.accountIds = map(idsStart, (long) capacity * Long.BYTES);
+        this.balances = map(balancesStart, (long) capacity * Long.BYTES);
+        this.slots = map(slotsStart, (long) tableSize * Integer.BYTES);
+    }
+
+    /**
+     * Creates an empty account file with room for {@code capacity} accounts, replacing any existing file.
+     */
+    public static MappedAccountFile create(Path path, int capacity) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Account file path cannot be null");
+        }
+        if (capacity > MAX_ACCOUNTS) {
+            throw new ValidationException("Account file cannot hold more than " + MAX_ACCOUNTS + " accounts");
+        }
+        capacity = Math.max(MIN_CAPACITY, capacity);
+        int tableSize = tableSizeFor(capacity);
+        // A commit record left by an earlier file at this path must not be replayed into the new one.
+        Files.deleteIfExists(recordPath(path));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Growing the file zero-fills it, so every slot starts empty.
+            channel.write(ByteBuffer.allocate(1), fileSize(capacity, tableSize) - 1);
+            MappedAccountFile file = new MappedAccountFile(path, channel, capacity, tableSize);
+            file.header.putInt(0, MAGIC).putInt(4, VERSION).putInt(CAPACITY_OFFSET, capacity)
+                .putInt(TABLE_SIZE_OFFSET, tableSize).putInt(COUNT_OFFSET, 0).putInt(STATE_OFFSET, BUILDING)
+                .putLong(CHECKSUM_OFFSET, 0);
+            file.header.force();
+            file.inUse = true;
+            log.info("Created account file {} for up to {} accounts", path, capacity);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps an existing account file for reading and in-place updates. Only the header is read here.
+     */
+    public static MappedAccountFile open(Path path) throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new ValidationException("Account file must be an existing file: " + path);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw corrupt(path, "shorter than the header");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw corrupt(path, "not an account file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw corrupt(path, "unsupported version " + header.getInt(4));
+            }
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            int tableSize = header.getInt(TABLE_SIZE_OFFSET);
+            int count = header.getInt(COUNT_OFFSET);
+            if (capacity < MIN_CAPACITY || capacity > MAX_ACCOUNTS || Integer.bitCount(tableSize) != 1
+                || tableSize < capacity * 2 || count < 0 || count > capacity
+                || fileSize != fileSize(capacity, tableSize)) {
+                throw corrupt(path, "size does not match header");
+            }
+            ByteBuffer record = readRecord(recordPath(path), capacity);
+            if (record == null) {
+                // A torn record means the commit never reached the mapping.
+                Files.deleteIfExists(recordPath(path));
+            }
+            int state = header.getInt(STATE_OFFSET);
+            if (record == null && state == BUILDING) {
+                throw new BankingException("Account file " + path
+                    + " was never committed; its first build from the balance file did not finish");
+            }
+
+            MappedAccountFile file = new MappedAccountFile(path, channel, capacity, tableSize);
+            file.size = count;
+            file.committed = count;
+            if (record != null) {
+                file.replay(record);
+            } else if (state != CLEAN) {
+                file.dropUncommittedAccounts();
+            }
+            count = file.size;
+            log.info("Opened account file {} with {} accounts", path, count);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Key of the transfer file applied by the last committed run, or 0 for a file that was never committed.
+     */
+    public long transferFileKey() {
+        return header.getLong(CHECKSUM_OFFSET);
+    }
+
+    /**
+     * Makes the run durable: flushes accounts added during the run, writes and forces the commit record, applies
+     * the touched balances to the mapping and forces it, then records the count and {@code transferFileKey} in
+     * the header, marks the file clean and deletes the record.
+     */
+    public void commit(long transferFileKey) throws IOException {
+        accountIds.force();
+        slots.force();
+        balances.force();
+        if (touched.size > 0) {
+            writeRecord(transferFileKey);
+            for (int j = 0; j < touched.size; j++) {
+                balances.putLong(touched.indexes[j] << 3, touched.balances[j]);
+            }
+            balances.force();
+        }
+        header.putInt(COUNT_OFFSET, size).putLong(CHECKSUM_OFFSET, transferFileKey).putInt(STATE_OFFSET, CLEAN);
+        header.force();
+        Files.deleteIfExists(recordPath(path));
+        log.info("Committed {} balances to {}, {} of them changed", size, path, touched.size);
+        touched.clear();
+        committed = size;
+        inUse = false;
+    }
+
+    /**
+     * Closes the file channel. Balance changes since the last {@link #commit} are discarded; accounts added since
+     * then are dropped on the next {@link #open}.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long accountId(int i) {
+        return accountIds.getLong(i << 3);
+    }
+
+    @Override
+    public long balance(int i) {
+        if (i < committed && touched.size > 0) {
+            int j = touched.find(i);
+            if (j >= 0) {
+                return touched.balances[j];
+            }
+        }
+        return balances.getLong(i << 3);
+    }
+
+    @Override
+    protected int slotMask() {
+        return mask;
+    }
+
+    @Override
+    protected int slot(int slot) {
+        return slots.getInt(slot << 2);
+    }
+
+    @Override
+    protected void setSlot(int slot, int entry) {
+        slots.putInt(slot << 2, entry);
+    }
+
+    @Override
+    protected int append(long accountId, long balanceCents) {
+        if (size == capacity) {
+            throw new ValidationException("Account file " + path + " is full at " + capacity + " accounts");
+        }
+        markInUse();
+        accountIds.putLong(size << 3, accountId);
+        balances.putLong(size << 3, balanceCents);
+        return size++;
+    }
+
+    @Override
+    protected void putBalance(int i, long balanceCents) {
+        if (i < committed) {
+            touched.put(i, balanceCents);
+        } else {
+            balances.putLong(i << 3, balanceCents);
+        }
+    }
+
+    /**
+     * Marks an opened file in use before the first account is added past the committed count, so the slots of
+     * accounts added by a run that never commits are dropped on the next open. A file still being built is
+     * already marked.
+     */
+    private void markInUse() {
+        if (!inUse && header.getInt(STATE_OFFSET) == CLEAN) {
+            header.putInt(STATE_OFFSET, IN_USE);
+            header.force();
+        }
+        inUse = true;
+    }
+
+    /**
+     * Writes and forces the commit record for the touched balances. Until it is complete the mapping holds the
+     * committed balances; once it is, {@link #open} can finish the commit from it alone.
+     */
+    void writeRecord(long transferFileKey) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + touched.size * RECORD_ENTRY_SIZE + Long.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(RECORD_MAGIC).putInt(size).putLong(transferFileKey).putInt(touched.size);
+        for (int j = 0; j < touched.size; j++) {
+            int i = touched.indexes[j];
+            record.putInt(i).putLong(balances.getLong(i << 3)).putLong(touched.balances[j]);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 0, record.position());
+        record.putLong(crc.getValue()).flip();
+
+        try (FileChannel out = FileChannel.open(recordPath(path), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (record.hasRemaining()) {
+                out.write(record);
+            }
+            out.force(true);
+        }
+    }
+
+    /**
+     * Finishes a commit whose record was written in full: applies the new balances, then records the count and
+     * key it holds.
+     */
+    private void replay(ByteBuffer record) throws IOException {
+        int entries = record.getInt(16);
+        for (int j = 0, offset = RECORD_HEADER_SIZE; j < entries; j++, offset += RECORD_ENTRY_SIZE) {
+            balances.putLong(record.getInt(offset) << 3, record.getLong(offset + 12));
+        }
+        size = record.getInt(4);
+        commit(record.getLong(8));
+        log.warn("Account file {} had an unfinished commit; replayed {} balance changes from its record",
+            path, entries);
+    }
+
+    /**
+     * Clears the slots of accounts added after the last commit, which the header count already leaves out.
+     */
+    private void dropUncommittedAccounts() throws IOException {
+        for (int slot = 0; slot <= mask; slot++) {
+            if (slot(slot) > committed) {
+                setSlot(slot, 0);
+            }
+        }
+        commit(transferFileKey());
+        log.warn("Account file {} was not committed by the run that last used it; kept its {} committed accounts",
+            path, committed);
+    }
+
+    /**
+     * Returns the commit record for an account file with room for {@code capacity} accounts, or {@code null} when
+     * there is none or it was not written in full, in which case the commit never started updating the mapping.
+     */
+    private static ByteBuffer readRecord(Path recordPath, int capacity) throws IOException {
+        if (!Files.isRegularFile(recordPath)) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(recordPath)).order(ByteOrder.LITTLE_ENDIAN);
+        int length = record.capacity();
+        if (length < RECORD_HEADER_SIZE + Long.BYTES || record.getInt(0) != RECORD_MAGIC) {
+            return null;
+        }
+        int count = record.getInt(4);
+        int entries = record.getInt(16);
+        if (count < 0 || count > capacity || entries < 0 || entries > count
+            || length != RECORD_HEADER_SIZE + (long) entries * RECORD_ENTRY_SIZE + Long.BYTES) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 0, length - Long.BYTES);
+        if (crc.getValue() != record.getLong(length - Long.BYTES)) {
+            return null;
+        }
+        for (int j = 0, offset = RECORD_HEADER_SIZE; j < entries; j++, offset += RECORD_ENTRY_SIZE) {
+            int index = record.getInt(offset);
+            if (index < 0 || index >= count) {
+                return null;
+            }
+        }
+        return record;
+    }
+
+    static Path recordPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".commit");
+    }
+
+    private MappedByteBuffer map(long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static long fileSize(int capacity, int tableSize) {
+        return HEADER_SIZE + (long) capacity * 2 * Long.BYTES + (long) tableSize * Integer.BYTES;
+    }
+
+    private static BankingException corrupt(Path path, String reason) {
+        return new BankingException("Corrupt account file " + path + ": " + reason);
+    }
+
+    /**
+     * New balances of committed accounts touched since the last commit, keyed by account index in the order first
+     * touched, with the same open-addressing scheme as the account stores.
+     */
+    private static final class TouchedBalances {
+
+        private static final int MIN_CAPACITY = 16;
+
+        private int[] indexes = new int[MIN_CAPACITY];
+        private long[] balances = new long[MIN_CAPACITY];
+        private int size;
+        private int[] slots = new int[MIN_CAPACITY * 2];
+
+        int find(int index) {
+            int mask = slots.length - 1;
+            int slot = slotOf(index, mask);
+            int entry;
+            while ((entry = slots[slot]) != 0) {
+                if (indexes[entry - 1] == index) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(int index, long balanceCents) {
+            int mask = slots.length - 1;
+            int slot = slotOf(index, mask);
+            int entry;
+            while ((entry = slots[slot]) != 0) {
+                if (indexes[entry - 1] == index) {
+                    balances[entry - 1] = balanceCents;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+                balances = Arrays.copyOf(balances, size * 2);
+            }
+            indexes[size] = index;
+            balances[size] = balanceCents;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+        }
+
+        void clear() {
+            indexes = new int[MIN_CAPACITY];
+            balances = new long[MIN_CAPACITY];
+            slots = new int[MIN_CAPACITY * 2];
+            size = 0;
+        }
+
+        private void rehash(int tableSize) {
+            slots = new int[tableSize];
+            int mask = tableSize - 1;
+            for (int j = 0; j < size; j++) {
+                int slot = slotOf(indexes[j], mask);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = j + 1;
+            }
+        }
+
+        private static int slotOf(int index, int mask) {
+            int h = index * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
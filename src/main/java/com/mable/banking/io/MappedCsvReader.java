@@ -0,0 +1,420 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.LineError;
+import com.mable.banking.domain.Money;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.AccountStore;
+import com.mable.banking.service.CentsLedger;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Cents-engine reader that memory-maps the input and decodes IDs and amounts straight from the bytes.
+ * <p>
+ * Lines that are plain ASCII and valid are parsed without creating any String. Every other line
+ * (errors, non-ASCII text, exponents, excess precision) is decoded and handed to the String parsers of
+ * {@link TransactionCsvReader} and {@link AccountCsvReader}, so results, errors and line numbers are
+ * identical to theirs.
+ */
+@Slf4j
+public class MappedCsvReader {
+
+    private static final long WINDOW_SIZE = 1L << 28;
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int PROBE_SIZE = 4096;
+
+    private final long windowSize;
+    private final long minChunkSize;
+
+    public MappedCsvReader() {
+        this(WINDOW_SIZE, MIN_CHUNK_SIZE);
+    }
+
+    MappedCsvReader(long windowSize, long minChunkSize) {
+        this.windowSize = windowSize;
+        this.minChunkSize = minChunkSize;
+    }
+
+    public CentsTransactionLoadResult loadCents(Path path) throws IOException {
+        List<CentsTransfer> transfers = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+
+        readCents(path, transfers::add, errors::add);
+
+        log.info("Loaded {} transfers, {} parse errors from transfer file", transfers.size(), errors.size());
+        return new CentsTransactionLoadResult(transfers, errors);
+    }
+
+    public long readCents(Path path, Consumer<CentsTransfer> onTransfer, Consumer<LineError> onError) throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new ValidationException("Transfer file path must be an existing file: " + path);
+        }
+        log.info("Loading transfers from {}", path);
+
+        TransferLines lines = new TransferLines(onTransfer, onError);
+        forEachLine(path, lines);
+        return lines.transferCount;
+    }
+
+    /**
+     * Parses {@code bytes[0, length)} as transfer lines, numbering them from {@code lineOffset + 1}. The block
+     * must hold whole lines: it ends just after a {@code \n} or at the end of the file. Returns the number of
+     * lines in the block so the caller can number the next one.
+     */
+    public int readCents(byte[] bytes, int length, int lineOffset,
+                         Consumer<CentsTransfer> onTransfer, Consumer<LineError> onError) {
+        TransferLines lines = new TransferLines(onTransfer, onError);
+        lines.lineNumber = lineOffset;
+        scanLines(ByteBuffer.wrap(bytes, 0, length), length, true, lines);
+        return lines.lineNumber - lineOffset;
+    }
+
+    /**
+     * Parses the transfer file on {@code pool}. The file is cut into byte ranges that end just after a
+     * {@code \n}; each range is parsed independently and the results are merged back in file order,
+     * with error line numbers shifted by the line count of the ranges before them.
+     */
+    public CentsTransactionLoadResult loadCentsParallel(Path path, ForkJoinPool pool) throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new ValidationException("Transfer file path must be an existing file: " + path);
+        }
+        log.info("Loading transfers from {} on {} threads", path, pool.getParallelism());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, pool.getParallelism() * CHUNKS_PER_THREAD);
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(bounds.length - 1);
+            for (int c = 0; c + 1 < bounds.length; c++) {
+                long start = bounds[c];
+                long end = bounds[c + 1];
+                tasks.add(pool.submit(() -> parseChunk(channel, start, end)));
+            }
+
+            List<CentsTransfer> transfers = new ArrayList<>();
+            List<LineError> errors = new ArrayList<>();
+            int lineOffset = 0;
+            for (ForkJoinTask<Chunk> task : tasks) {
+                Chunk chunk = joinChunk(task);
+                transfers.addAll(chunk.transfers);
+                for (LineError e : chunk.errors) {
+                    errors.add(new LineError(e.lineNumber() + lineOffset, e.line(), e.errorMessage()));
+                }
+                lineOffset += chunk.lineCount;
+            }
+
+            log.info("Loaded {} transfers, {} parse errors from transfer file in {} chunks",
+                transfers.size(), errors.size(), tasks.size());
+            return new CentsTransactionLoadResult(transfers, errors);
+        }
+    }
+
+    public LedgerLoadResult loadLedger(Path path) throws IOException {
+        CentsLedger ledger = new CentsLedger(1024);
+        return new LedgerLoadResult(ledger, loadInto(path, ledger));
+    }
+
+    /**
+     * Adds every valid balance line to {@code store} and returns the rejected lines.
+     */
+    public List<LineError> loadInto(Path path, AccountStore store) throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new ValidationException("Balance file path must be an existing file: " + path);
+        }
+        log.info("Loading balances from {}", path);
+
+        BalanceLines lines = new BalanceLines(store);
+        forEachLine(path, lines);
+
+        log.info("Loaded {} accounts, {} errors from balance file", store.size(), lines.errors.size());
+        return lines.errors;
+    }
+
+    /**
+     * Splits the file into lines on {@code \n}, {@code \r} and {@code \r\n} like {@link java.io.BufferedReader#readLine()},
+     * mapping it in windows so files larger than 2 GB work. A line cut by a window edge is re-read from its start.
+     */
+    private void forEachLine(Path path, LineHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            forEachLine(channel, 0, channel.size(), handler);
+        }
+    }
+
+    private void forEachLine(FileChannel channel, long start, long end, LineHandler handler) throws IOException {
+        long position = start;
+        while (position < end) {
+            int length = (int) Math.min(windowSize, end - position);
+            boolean lastWindow = position + length == end;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int lineStart = scanLines(buffer, length, lastWindow, handler);
+
+            if (lastWindow) {
+                position = end;
+            } else if (lineStart == 0) {
+                throw new BankingException("Line longer than " + windowSize + " bytes at offset " + position);
+            } else {
+                position += lineStart;
+            }
+        }
+    }
+
+    /**
+     * Hands every line of {@code buffer[0, length)} to {@code handler} and returns the offset just after the
+     * last complete line. For the last window the unterminated tail is a line too and {@code length} is returned.
+     */
+    private static int scanLines(ByteBuffer buffer, int length, boolean lastWindow, LineHandler handler) {
+        // Hold back the final byte of an inner window so a \r\n pair is never split.
+        int scanLimit = lastWindow ? length : length - 1;
+        int lineStart = 0;
+        for (int i = 0; i < scanLimit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                handler.line(buffer, lineStart, i);
+                if (b == '\r' && i + 1 < length && buffer.get(i + 1) == '\n') {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lastWindow && lineStart < length) {
+            handler.line(buffer, lineStart, length);
+            lineStart = length;
+        }
+        return lineStart;
+    }
+
+    private Chunk parseChunk(FileChannel channel, long start, long end) {
+        Chunk chunk = new Chunk();
+        TransferLines lines = new TransferLines(chunk.transfers::add, chunk.errors::add);
+        try {
+            forEachLine(channel, start, end, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.lineCount = lines.lineNumber;
+        return chunk;
+    }
+
+    private static Chunk joinChunk(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns ascending offsets {@code 0 = b0 < b1 < ... < bn = size}, each inner offset sitting just after a {@code \n}.
+     */
+    private long[] chunkBounds(FileChannel channel, int chunks) throws IOException {
+        long size = channel.size();
+        long target = Math.max(minChunkSize, size / Math.max(1, chunks));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        long next = target;
+        while (next < size) {
+            long boundary = nextLineStart(channel, next, probe);
+            if (boundary < 0 || boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            next = boundary + target;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Returns 1 for an ASCII blank line, 0 for a non-blank ASCII line and -1 when the line has non-ASCII bytes.
+     */
+    private static int asciiBlank(ByteBuffer buffer, int start, int end) {
+        boolean blank = true;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < 0) {
+                return -1;
+            }
+            if (blank && !Character.isWhitespace(b)) {
+                blank = false;
+            }
+        }
+        return blank ? 1 : 0;
+    }
+
+    private static int trimStart(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(ByteBuffer buffer, int start, int end) {
+        while (end > start && buffer.get(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int indexOfComma(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Chunk {
+        private final List<CentsTransfer> transfers = new ArrayList<>();
+        private final List<LineError> errors = new ArrayList<>();
+        private int lineCount;
+    }
+
+    @FunctionalInterface
+    private interface LineHandler {
+        void line(ByteBuffer buffer, int start, int end);
+    }
+
+    private static final class TransferLines implements LineHandler {
+
+        private final Consumer<CentsTransfer> onTransfer;
+        private final Consumer<LineError> onError;
+        private int lineNumber;
+        private long transferCount;
+
+        TransferLines(Consumer<CentsTransfer> onTransfer, Consumer<LineError> onError) {
+            this.onTransfer = onTransfer;
+            this.onError = onError;
+        }
+
+        @Override
+        public void line(ByteBuffer buffer, int start, int end) {
+            lineNumber++;
+            int blank = asciiBlank(buffer, start, end);
+            if (blank == 1) {
+                return;
+            }
+            CentsTransfer transfer = blank == 0 ? parseFast(buffer, start, end) : null;
+            if (transfer == null) {
+                String line = decode(buffer, start, end);
+                if (line.isBlank()) {
+                    return;
+                }
+                TransactionCsvReader.ParseLineResult<CentsTransfer> parsed = TransactionCsvReader.parseCentsLine(line, lineNumber);
+                if (parsed.error() != null) {
+                    onError.accept(parsed.error());
+                    return;
+                }
+                transfer = parsed.transfer();
+            }
+            onTransfer.accept(transfer);
+            transferCount++;
+        }
+
+        private static CentsTransfer parseFast(ByteBuffer buffer, int start, int end) {
+            int firstComma = indexOfComma(buffer, start, end);
+            if (firstComma < 0) {
+                return null;
+            }
+            int secondComma = indexOfComma(buffer, firstComma + 1, end);
+            if (secondComma < 0 || indexOfComma(buffer, secondComma + 1, end) >= 0) {
+                return null;
+            }
+            long from = AccountIds.parse(buffer, trimStart(buffer, start, firstComma), trimEnd(buffer, start, firstComma));
+            long to = AccountIds.parse(buffer, trimStart(buffer, firstComma + 1, secondComma),
+                trimEnd(buffer, firstComma + 1, secondComma));
+            int amountStart = trimStart(buffer, secondComma + 1, end);
+            long amount = Money.parseCents(buffer, amountStart, trimEnd(buffer, amountStart, end));
+            if (from < 0 || to < 0 || amount == Money.NOT_PLAIN || amount <= 0) {
+                return null;
+            }
+            return new CentsTransfer(from, to, amount);
+        }
+    }
+
+    private static final class BalanceLines implements LineHandler {
+
+        private final AccountStore ledger;
+        private final List<LineError> errors = new ArrayList<>();
+        private int lineNumber;
+
+        BalanceLines(AccountStore ledger) {
+            this.ledger = ledger;
+        }
+
+        @Override
+        public void line(ByteBuffer buffer, int start, int end) {
+            int blank = asciiBlank(buffer, start, end);
+            if (blank == 1) {
+                return;
+            }
+            if (blank == 0 && parseFast(buffer, start, end)) {
+                return;
+            }
+            String line = decode(buffer, start, end);
+            if (line.isBlank()) {
+                return;
+            }
+            lineNumber++;
+            AccountCsvReader.parseLedgerBalance(line, lineNumber, errors, ledger);
+        }
+
+        private boolean parseFast(ByteBuffer buffer, int start, int end) {
+            int comma = indexOfComma(buffer, start, end);
+            if (comma < 0 || indexOfComma(buffer, comma + 1, end) >= 0) {
+                return false;
+            }
+            long accountId = AccountIds.parse(buffer, trimStart(buffer, start, comma), trimEnd(buffer, start, comma));
+            int balanceStart = trimStart(buffer, comma + 1, end);
+            long balance = Money.parseCents(buffer, balanceStart, trimEnd(buffer, balanceStart, end));
+            if (accountId < 0 || balance == Money.NOT_PLAIN || balance < 0) {
+                return false;
+            }
+            lineNumber++;
+            if (ledger.add(accountId, balance) < 0) {
+                errors.add(new LineError(lineNumber, decode(buffer, start, end),
+                    "Duplicate account ID " + AccountIds.format(accountId)));
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mable.banking.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where a chain of snapshots started and which transfer files it has taken in: the CRC32C of the balance CSV the
+ * first run loaded and the {@linkplain BalanceSnapshotFile#transferFileKey key} of each transfer file applied
+ * since, oldest first. Only the most recent {@value #MAX_TRANSFER_FILES} transfer files are kept.
+ */
+public record SnapshotHistory(long balancesChecksum, List<Long> transferFileKeys) {
+
+    /** Never equal to a CRC32C; marks a chain whose balance file was not recorded. */
+    public static final long UNKNOWN = -1;
+    static final int MAX_TRANSFER_FILES = 1024;
+
+    public SnapshotHistory {
+        transferFileKeys = List.copyOf(transferFileKeys);
+    }
+
+    public static SnapshotHistory startingFrom(long balancesChecksum) {
+        return new SnapshotHistory(balancesChecksum, List.of());
+    }
+
+    public boolean includes(long transferFileKey) {
+        return transferFileKeys.contains(transferFileKey);
+    }
+
+    /**
+     * Returns this history with {@code transferFileKey} appended, dropping the oldest entry once full.
+     */
+    public SnapshotHistory then(long transferFileKey) {
+        List<Long> next = new ArrayList<>(transferFileKeys.size() + 1);
+        int from = Math.max(0, transferFileKeys.size() + 1 - MAX_TRANSFER_FILES);
+        next.addAll(transferFileKeys.subList(from, transferFileKeys.size()));
+        next.add(transferFileKey);
+        return new SnapshotHistory(balancesChecksum, next);
+    }
+}
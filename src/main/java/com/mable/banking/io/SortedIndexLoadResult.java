@@ -0,0 +1,13 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.LineError;
+import com.mable.banking.service.SortedAccountIndex;
+
+import java.util.List;
+
+public record SortedIndexLoadResult(SortedAccountIndex index, List<LineError> errors) {
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -1,55 +1,107 @@
 package com.mable.banking.io;
 
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
 import com.mable.banking.domain.LineError;
+import com.mable.banking.domain.Money;
 import com.mable.banking.domain.Transfer;
 import com.mable.banking.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
+import static com.mable.banking.io.CsvFields.trimEnd;
+import static com.mable.banking.io.CsvFields.trimStart;
+import static com.mable.banking.service.Validator.parseAccountId;
 import static com.mable.banking.service.Validator.validateAccountId;
 import static com.mable.banking.service.Validator.validateTransferAmount;
+import static com.mable.banking.service.Validator.validateTransferAmountCents;
 
 @Slf4j
 public class TransactionCsvReader {
 
+    private static final String COLUMNS_ERROR = "Line must have exactly 3 columns (from,to,amount)";
+
     public TransactionLoadResult load(Path path) throws IOException {
+        List<Transfer> transfers = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+
+        read(path, transfers::add, errors::add);
+
+        log.info("Loaded {} transfers, {} parse errors from transfer file", transfers.size(), errors.size());
+        return new TransactionLoadResult(transfers, errors);
+    }
+
+    public CentsTransactionLoadResult loadCents(Path path) throws IOException {
+        List<CentsTransfer> transfers = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+
+        readCents(path, transfers::add, errors::add);
+
+        log.info("Loaded {} transfers, {} parse errors from transfer file", transfers.size(), errors.size());
+        return new CentsTransactionLoadResult(transfers, errors);
+    }
+
+    public long read(Path path, Consumer<Transfer> onTransfer, Consumer<LineError> onError) throws IOException {
+        return readLines(path, TransactionCsvReader::parseLine, onTransfer, onError);
+    }
+
+    public long readCents(Path path, Consumer<CentsTransfer> onTransfer, Consumer<LineError> onError) throws IOException {
+        return readLines(path, TransactionCsvReader::parseCentsLine, onTransfer, onError);
+    }
+
+    /**
+     * Reads transfer lines from an already open reader, such as a request body. The reader is not closed.
+     */
+    public long readCents(BufferedReader reader, Consumer<CentsTransfer> onTransfer, Consumer<LineError> onError) throws IOException {
+        return readLines(reader, TransactionCsvReader::parseCentsLine, onTransfer, onError);
+    }
+
+    private static <T> long readLines(Path path, BiFunction<String, Integer, ParseLineResult<T>> parser,
+                                      Consumer<T> onTransfer, Consumer<LineError> onError) throws IOException {
         if (path == null || !Files.isRegularFile(path)) {
             throw new ValidationException("Transfer file path must be an existing file: " + path);
         }
         log.info("Loading transfers from {}", path);
 
-        List<String> lines = Files.readAllLines(path);
-        List<Transfer> transfers = new ArrayList<>();
-        List<LineError> errors = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            return readLines(reader, parser, onTransfer, onError);
+        }
+    }
 
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
+    private static <T> long readLines(BufferedReader reader, BiFunction<String, Integer, ParseLineResult<T>> parser,
+                                      Consumer<T> onTransfer, Consumer<LineError> onError) throws IOException {
+        long transferCount = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
             if (line.isBlank()) {
                 continue;
             }
-            int lineNumber = i + 1;
-            ParseLineResult parsed = parseLine(line, lineNumber);
+            ParseLineResult<T> parsed = parser.apply(line, lineNumber);
             if (parsed.error != null) {
-                errors.add(parsed.error);
+                onError.accept(parsed.error);
                 continue;
             }
-            transfers.add(parsed.transfer);
+            onTransfer.accept(parsed.transfer);
+            transferCount++;
         }
-
-        log.info("Loaded {} transfers, {} parse errors from transfer file", transfers.size(), errors.size());
-        return new TransactionLoadResult(transfers, errors);
+        return transferCount;
     }
 
-    private static ParseLineResult parseLine(String line, int lineNumber) {
+    private static ParseLineResult<Transfer> parseLine(String line, int lineNumber) {
         String[] parts = line.split(",", -1);
         if (parts.length != 3) {
-            return ParseLineResult.error(lineNumber, line, "Line must have exactly 3 columns (from,to,amount)");
+            return ParseLineResult.error(lineNumber, line, COLUMNS_ERROR);
         }
 
         String from = parts[0].trim();
@@ -74,14 +126,55 @@ public class TransactionCsvReader {
         }
     }
 
-    private record ParseLineResult(Transfer transfer, LineError error) {
+    static ParseLineResult<CentsTransfer> parseCentsLine(String line, int lineNumber) {
+        int firstComma = line.indexOf(',');
+        int secondComma = firstComma < 0 ? -1 : line.indexOf(',', firstComma + 1);
+        if (secondComma < 0 || line.indexOf(',', secondComma + 1) >= 0) {
+            return ParseLineResult.error(lineNumber, line, COLUMNS_ERROR);
+        }
+
+        int amountStart = trimStart(line, secondComma + 1, line.length());
+        long amountCents = Money.parseCents(line, amountStart, trimEnd(line, amountStart, line.length()));
+        if (amountCents == Money.NOT_PLAIN) {
+            // Exponents, non-ASCII digits, excess precision and malformed text take the BigDecimal route.
+            ParseLineResult<Transfer> parsed = parseLine(line, lineNumber);
+            if (parsed.error != null) {
+                return ParseLineResult.error(parsed.error);
+            }
+            Transfer t = parsed.transfer;
+            try {
+                return ParseLineResult.ok(new CentsTransfer(AccountIds.toLong(t.fromAccountId()),
+                    AccountIds.toLong(t.toAccountId()), validateTransferAmountCents(t.amount())));
+            } catch (ValidationException e) {
+                return ParseLineResult.error(lineNumber, line, e.getMessage());
+            }
+        }
+
+        try {
+            int fromStart = trimStart(line, 0, firstComma);
+            long from = parseAccountId(line, fromStart, trimEnd(line, fromStart, firstComma), "from");
+            int toStart = trimStart(line, firstComma + 1, secondComma);
+            long to = parseAccountId(line, toStart, trimEnd(line, toStart, secondComma), "to");
+            long validatedAmount = validateTransferAmountCents(amountCents);
+
+            return ParseLineResult.ok(new CentsTransfer(from, to, validatedAmount));
+        } catch (ValidationException e) {
+            return ParseLineResult.error(lineNumber, line, e.getMessage());
+        }
+    }
+
+    record ParseLineResult<T>(T transfer, LineError error) {
+
+        static <T> ParseLineResult<T> ok(T transfer) {
+            return new ParseLineResult<>(transfer, null);
+        }
 
-        static ParseLineResult ok(Transfer transfer) {
-            return new ParseLineResult(transfer, null);
+        static <T> ParseLineResult<T> error(int lineNumber, String line, String message) {
+            return error(new LineError(lineNumber, line, message));
         }
 
-        static ParseLineResult error(int lineNumber, String line, String message) {
-            return new ParseLineResult(null, new LineError(lineNumber, line, message));
+        static <T> ParseLineResult<T> error(LineError error) {
+            return new ParseLineResult<>(null, error);
         }
     }
 }
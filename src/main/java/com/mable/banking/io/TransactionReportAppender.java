@@ -0,0 +1,83 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes report rows straight into a reusable byte buffer and writes it through a {@link FileChannel}.
+ * The bytes are the UTF-8 encoding of {@code from,to,amount,status} plus the platform line separator,
+ * exactly what {@code Files.write} produced for the same rows.
+ */
+public class TransactionReportAppender implements Closeable {
+
+    private static final byte[][] STATUS_BYTES = new byte[TransactionStatus.values().length][];
+
+    static {
+        for (TransactionStatus status : TransactionStatus.values()) {
+            STATUS_BYTES[status.ordinal()] = status.name().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final CsvByteWriter out;
+    private long rowCount;
+
+    TransactionReportAppender(FileChannel channel) {
+        this.out = new CsvByteWriter(channel);
+    }
+
+    public void append(TransactionResult result) throws IOException {
+        out.putString(result.fromAccountId());
+        out.putByte((byte) ',');
+        out.putString(result.toAccountId());
+        out.putByte((byte) ',');
+        out.putString(result.amountDisplay());
+        out.putByte((byte) ',');
+        out.putBytes(STATUS_BYTES[result.status().ordinal()]);
+        out.endLine();
+        rowCount++;
+    }
+
+    /**
+     * Writes the row for a cents-engine transfer without building a {@link TransactionResult} or any String.
+     */
+    public void append(CentsTransfer transfer, TransactionStatus status) throws IOException {
+        out.putAccountId(transfer.fromAccountId());
+        out.putByte((byte) ',');
+        out.putAccountId(transfer.toAccountId());
+        out.putByte((byte) ',');
+        out.putCents(transfer.amountCents());
+        out.putByte((byte) ',');
+        out.putBytes(STATUS_BYTES[status.ordinal()]);
+        out.endLine();
+        rowCount++;
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes out buffered rows and forces them to disk.
+     *
+     * @return the durable length of the report in bytes
+     */
+    public long sync() throws IOException {
+        return out.sync();
+    }
+
+    void writeLine(String line) throws IOException {
+        out.putString(line);
+        out.endLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
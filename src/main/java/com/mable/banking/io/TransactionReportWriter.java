@@ -1,35 +1,80 @@
 package com.mable.banking.io;
 
+import com.mable.banking.domain.CentsTransfer;
 import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
 import com.mable.banking.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 @Slf4j
 public class TransactionReportWriter {
 
-    private static final String HEADER = "From Account,To Account,Amount,Status";
+    static final String HEADER = "From Account,To Account,Amount,Status";
 
     public void write(java.nio.file.Path path, List<TransactionResult> results) throws IOException {
-        if (path == null) {
-            throw new ValidationException("Report path cannot be null");
-        }
-
         if (results == null) {
             throw new ValidationException("Results cannot be null");
         }
 
-        List<String> lines = new java.util.ArrayList<>();
-        lines.add(HEADER);
+        try (TransactionReportAppender appender = open(path)) {
+            for (TransactionResult r : results) {
+                appender.append(r);
+            }
+        }
+        log.info("Wrote {} transaction results to {}", results.size(), path);
+    }
 
-        for (TransactionResult r : results) {
-            lines.add(String.format("%s,%s,%s,%s", r.fromAccountId(), r.toAccountId(), r.amountDisplay(), r.status()));
+    /**
+     * Writes the rows of a cents run straight from its transfers and statuses, as streaming mode does.
+     */
+    public void write(java.nio.file.Path path, List<CentsTransfer> transfers, TransactionStatus[] statuses)
+        throws IOException {
+        if (transfers == null || statuses == null || statuses.length != transfers.size()) {
+            throw new ValidationException("Transfers must be given with one status each");
         }
 
-        Files.write(path, lines);
-        log.info("Wrote {} transaction results to {}", results.size(), path);
+        try (TransactionReportAppender appender = open(path)) {
+            for (int i = 0; i < statuses.length; i++) {
+                appender.append(transfers.get(i), statuses[i]);
+            }
+        }
+        log.info("Wrote {} transaction results to {}", statuses.length, path);
+    }
+
+    public TransactionReportAppender open(java.nio.file.Path path) throws IOException {
+        if (path == null) {
+            throw new ValidationException("Report path cannot be null");
+        }
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        TransactionReportAppender appender = new TransactionReportAppender(channel);
+        appender.writeLine(HEADER);
+        return appender;
+    }
+
+    /**
+     * Reopens a partially written report, dropping anything past {@code offset} (the last synced length).
+     * An offset of 0 starts a fresh report.
+     */
+    public TransactionReportAppender resume(java.nio.file.Path path, long offset) throws IOException {
+        if (offset == 0) {
+            return open(path);
+        }
+        if (path == null) {
+            throw new ValidationException("Report path cannot be null");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        if (channel.size() < offset) {
+            channel.close();
+            throw new ValidationException("Report " + path + " is shorter than its journaled length " + offset);
+        }
+        channel.truncate(offset);
+        channel.position(offset);
+        return new TransactionReportAppender(channel);
     }
 }
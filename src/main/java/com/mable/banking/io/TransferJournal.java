@@ -0,0 +1,319 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.CentsLedger;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal that lets a cents batch run resume after a crash.
+ *
+ * <p>The journal directory holds one segment {@code journal-<P>.log} and, for {@code P > 0}, the balance
+ * checkpoint {@code checkpoint-<P>.snapshot} taken after the first {@code P} transfers. A segment is a
+ * sequence of fixed-width records, each with its own CRC32C so a torn tail is detected:</p>
+ * <ul>
+ *   <li>{@code HEADER} — start sequence {@code P}, transfer file key, opening ledger fingerprint and the
+ *       report offset at {@code P};</li>
+ *   <li>{@code APPLIED} — sequence, from, to and cents of a transfer that changed balances;</li>
+ *   <li>{@code COMMIT} — number of transfers processed and the durable report length.</li>
+ * </ul>
+ *
+ * <p>Records are buffered and only forced to disk by {@link #commit}, so one fsync covers a whole group of
+ * transfers. On reopen, committed {@code APPLIED} records are replayed on top of the checkpoint and anything
+ * after the last {@code COMMIT} is discarded. {@link #checkpoint} writes a new snapshot, starts a new segment
+ * and removes the old one, which keeps recovery proportional to the transfers since the last checkpoint.</p>
+ */
+@Slf4j
+public class TransferJournal implements Closeable {
+
+    static final int RECORD_SIZE = 4 * 8 + 4 + 4;
+    static final int HEADER = 0x4A4E524C; // "JNRL"
+    static final int APPLIED = 1;
+    static final int COMMIT = 2;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String CHECKPOINT_SUFFIX = ".snapshot";
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final Path directory;
+    private final long transferFileKey;
+    private final long openingFingerprint;
+    private final CentsLedger ledger;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private final BalanceSnapshotFile snapshots = new BalanceSnapshotFile();
+
+    private FileChannel segment;
+    private long segmentStart;
+    private long resumeFrom;
+    private long reportOffset;
+
+    private TransferJournal(Path directory, long transferFileKey, long openingFingerprint, CentsLedger ledger) {
+        this.directory = directory;
+        this.transferFileKey = transferFileKey;
+        this.openingFingerprint = openingFingerprint;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, recovering the latest committed state if a previous run left one.
+     * The opening ledger and the transfer file key must match what the journal was started with.
+     */
+    public static TransferJournal open(Path directory, CentsLedger opening, long transferFileKey) throws IOException {
+        if (directory == null) {
+            throw new ValidationException("Journal directory cannot be null");
+        }
+        if (opening == null) {
+            throw new ValidationException("Opening ledger cannot be null");
+        }
+        Files.createDirectories(directory);
+        long fingerprint = fingerprint(opening);
+
+        long start = latestSegment(directory);
+        if (start < 0) {
+            TransferJournal journal = new TransferJournal(directory, transferFileKey, fingerprint, opening.copy());
+            journal.startSegment(0, 0);
+            return journal;
+        }
+
+        CentsLedger ledger = start == 0
+            ? opening.copy()
+            : new BalanceSnapshotFile().read(checkpointPath(directory, start)).ledger();
+        TransferJournal journal = new TransferJournal(directory, transferFileKey, fingerprint, ledger);
+        journal.recover(start);
+        return journal;
+    }
+
+    /**
+     * Working balances: the opening ledger, or the recovered state when resuming.
+     */
+    public CentsLedger ledger() {
+        return ledger;
+    }
+
+    /**
+     * Index of the first transfer that has not been committed yet.
+     */
+    public long resumeFrom() {
+        return resumeFrom;
+    }
+
+    /**
+     * Durable length of the transaction report at {@link #resumeFrom()}, or 0 when the report starts fresh.
+     */
+    public long reportOffset() {
+        return reportOffset;
+    }
+
+    public void recordApplied(long sequence, CentsTransfer transfer) throws IOException {
+        putRecord(APPLIED, sequence, transfer.fromAccountId(), transfer.toAccountId(), transfer.amountCents());
+    }
+
+    /**
+     * Makes every transfer before {@code processed} durable. The report must already be synced to
+     * {@code reportOffset} so a recovered run never refers to report bytes that were lost.
+     */
+    public void commit(long processed, long reportOffset) throws IOException {
+        putRecord(COMMIT, processed, reportOffset, 0, 0);
+        drain();
+        segment.force(false);
+        this.resumeFrom = processed;
+        this.reportOffset = reportOffset;
+    }
+
+    /**
+     * Commits, snapshots the working ledger and starts a new segment at {@code processed}.
+     */
+    public void checkpoint(long processed, long reportOffset) throws IOException {
+        commit(processed, reportOffset);
+        snapshots.write(checkpointPath(directory, processed), ledger, transferFileKey);
+
+        long previous = segmentStart;
+        segment.close();
+        startSegment(processed, reportOffset);
+        Files.deleteIfExists(segmentPath(directory, previous));
+        if (previous > 0) {
+            Files.deleteIfExists(checkpointPath(directory, previous));
+        }
+        log.info("Checkpoint at transfer {}", processed);
+    }
+
+    /**
+     * Removes the journal once the run's outputs are complete; a later run then starts from scratch.
+     */
+    public void complete() throws IOException {
+        close();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) || name.startsWith(CHECKPOINT_PREFIX)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null && segment.isOpen()) {
+            segment.close();
+        }
+    }
+
+    static long fingerprint(CentsLedger ledger) {
+        CRC32C fingerprint = new CRC32C();
+        ByteBuffer entry = ByteBuffer.allocate(16);
+        for (int i = 0; i < ledger.size(); i++) {
+            entry.clear();
+            entry.putLong(ledger.accountId(i)).putLong(ledger.balance(i)).flip();
+            fingerprint.update(entry);
+        }
+        return fingerprint.getValue();
+    }
+
+    private void recover(long start) throws IOException {
+        Path path = segmentPath(directory, start);
+        segment = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentStart = start;
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (!readRecord(record) || record.getInt(32) != HEADER || record.getLong(0) != start) {
+            throw new BankingException("Corrupt journal segment " + path + ": missing header");
+        }
+        if (record.getLong(8) != transferFileKey || record.getLong(16) != openingFingerprint) {
+            throw new ValidationException("Journal " + directory + " was started for different input files");
+        }
+        resumeFrom = start;
+        reportOffset = record.getLong(24);
+        long committedEnd = segment.position();
+
+        long[] pending = new long[3 * BUFFER_RECORDS];
+        int pendingCount = 0;
+        long replayed = 0;
+        while (readRecord(record)) {
+            int type = record.getInt(32);
+            if (type == APPLIED) {
+                if (pendingCount * 3 == pending.length) {
+                    pending = Arrays.copyOf(pending, pending.length * 2);
+                }
+                pending[pendingCount * 3] = record.getLong(8);
+                pending[pendingCount * 3 + 1] = record.getLong(16);
+                pending[pendingCount * 3 + 2] = record.getLong(24);
+                pendingCount++;
+            } else if (type == COMMIT) {
+                for (int i = 0; i < pendingCount; i++) {
+                    replay(pending[i * 3], pending[i * 3 + 1], pending[i * 3 + 2]);
+                }
+                replayed += pendingCount;
+                pendingCount = 0;
+                resumeFrom = record.getLong(0);
+                reportOffset = record.getLong(8);
+                committedEnd = segment.position();
+            } else {
+                break;
+            }
+        }
+
+        segment.truncate(committedEnd);
+        segment.position(committedEnd);
+        log.info("Recovered journal at transfer {} ({} applied transfers replayed)", resumeFrom, replayed);
+    }
+
+    private void replay(long fromAccountId, long toAccountId, long amountCents) {
+        int from = ledger.indexOf(fromAccountId);
+        int to = ledger.indexOf(toAccountId);
+        if (from < 0 || to < 0) {
+            throw new BankingException("Journal refers to unknown account");
+        }
+        ledger.debit(from, amountCents);
+        ledger.credit(to, amountCents);
+    }
+
+    private boolean readRecord(ByteBuffer record) throws IOException {
+        record.clear();
+        while (record.hasRemaining()) {
+            if (segment.read(record) < 0) {
+                return false;
+            }
+        }
+        crc.reset();
+        crc.update(record.array(), 0, RECORD_SIZE - 4);
+        return (int) crc.getValue() == record.getInt(RECORD_SIZE - 4);
+    }
+
+    /**
+     * Segments appear only once their header is durable, so the latest segment on disk is always usable.
+     */
+    private void startSegment(long start, long reportOffset) throws IOException {
+        Path path = segmentPath(directory, start);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        segment = FileChannel.open(temp,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        segmentStart = start;
+        resumeFrom = start;
+        this.reportOffset = reportOffset;
+        putRecord(HEADER, start, transferFileKey, openingFingerprint, reportOffset);
+        drain();
+        segment.force(true);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void putRecord(int type, long a, long b, long c, long d) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            drain();
+        }
+        int begin = buffer.position();
+        buffer.putLong(a).putLong(b).putLong(c).putLong(d).putInt(type);
+        crc.reset();
+        crc.update(buffer.array(), begin, RECORD_SIZE - 4);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long latestSegment(Path directory) throws IOException {
+        long latest = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long start = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    latest = Math.max(latest, start);
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected file {} in journal directory", file);
+                }
+            }
+        }
+        return latest;
+    }
+
+    private static Path segmentPath(Path directory, long start) {
+        return directory.resolve(SEGMENT_PREFIX + start + SEGMENT_SUFFIX);
+    }
+
+    private static Path checkpointPath(Path directory, long start) {
+        return directory.resolve(CHECKPOINT_PREFIX + start + CHECKPOINT_SUFFIX);
+    }
+}
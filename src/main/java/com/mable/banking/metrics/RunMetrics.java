@@ -0,0 +1,143 @@
+package com.mable.banking.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Phase timings, throughput and per-transfer apply latencies for one run, exportable as JSON or in the
+ * Prometheus text exposition format.
+ */
+public class RunMetrics {
+
+    public static final String LOAD_BALANCES = "load-balances";
+    public static final String LOAD_TRANSFERS = "load-transfers";
+    public static final String PROCESS = "process";
+    public static final String WRITE_REPORT = "write-report";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+    private final List<Phase> phases = new ArrayList<>();
+    private final LatencyHistogram applyLatencies = new LatencyHistogram();
+
+    /**
+     * One timed phase. {@code items} is accounts or transfers handled; {@code bytesRead} is input consumed.
+     */
+    public record Phase(String name, long nanos, long items, long bytesRead) {
+
+        public double seconds() {
+            return nanos / 1e9;
+        }
+
+        public double itemsPerSecond() {
+            return nanos == 0 ? 0 : items / seconds();
+        }
+    }
+
+    /**
+     * A running phase; {@link #stop} records it.
+     */
+    public final class Timer {
+
+        private final String name;
+        private final long start = System.nanoTime();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public void stop(long items, long bytesRead) {
+            phases.add(new Phase(name, System.nanoTime() - start, items, bytesRead));
+        }
+    }
+
+    public Timer start(String phase) {
+        return new Timer(phase);
+    }
+
+    public List<Phase> phases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * Histogram of nanoseconds spent applying each transfer.
+     */
+    public LatencyHistogram applyLatencies() {
+        return applyLatencies;
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"phases\": [");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase p = phases.get(i);
+            sb.append(i == 0 ? "\n" : ",\n")
+                .append("    {\"name\": \"").append(p.name()).append('"')
+                .append(", \"seconds\": ").append(decimal(p.seconds()))
+                .append(", \"items\": ").append(p.items())
+                .append(", \"itemsPerSecond\": ").append(decimal(p.itemsPerSecond()))
+                .append(", \"bytesRead\": ").append(p.bytesRead()).append('}');
+        }
+        sb.append(phases.isEmpty() ? "],\n" : "\n  ],\n");
+        LatencyHistogram h = applyLatencies;
+        sb.append("  \"applyLatencyNanos\": {\"count\": ").append(h.count())
+            .append(", \"min\": ").append(h.min())
+            .append(", \"mean\": ").append(decimal(h.mean()))
+            .append(", \"max\": ").append(h.max())
+            .append(", \"percentiles\": {");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            sb.append(i == 0 ? "" : ", ").append('"').append(label(PERCENTILES[i])).append("\": ")
+                .append(h.percentile(PERCENTILES[i]));
+        }
+        return sb.append("}}\n}\n").toString();
+    }
+
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# HELP banking_phase_seconds Wall time of each run phase.\n")
+            .append("# TYPE banking_phase_seconds gauge\n");
+        for (Phase p : phases) {
+            sb.append("banking_phase_seconds{phase=\"").append(p.name()).append("\"} ").append(decimal(p.seconds())).append('\n');
+        }
+        sb.append("# HELP banking_phase_items Accounts or transfers handled by each run phase.\n")
+            .append("# TYPE banking_phase_items gauge\n");
+        for (Phase p : phases) {
+            sb.append("banking_phase_items{phase=\"").append(p.name()).append("\"} ").append(p.items()).append('\n');
+        }
+        sb.append("# HELP banking_phase_items_per_second Throughput of each run phase.\n")
+            .append("# TYPE banking_phase_items_per_second gauge\n");
+        for (Phase p : phases) {
+            sb.append("banking_phase_items_per_second{phase=\"").append(p.name()).append("\"} ")
+                .append(decimal(p.itemsPerSecond())).append('\n');
+        }
+        sb.append("# HELP banking_phase_bytes_read Input bytes consumed by each run phase.\n")
+            .append("# TYPE banking_phase_bytes_read gauge\n");
+        for (Phase p : phases) {
+            sb.append("banking_phase_bytes_read{phase=\"").append(p.name()).append("\"} ").append(p.bytesRead()).append('\n');
+        }
+        LatencyHistogram h = applyLatencies;
+        sb.append("# HELP banking_apply_latency_seconds Time spent applying each transfer.\n")
+            .append("# TYPE banking_apply_latency_seconds summary\n");
+        for (double percentile : PERCENTILES) {
+            sb.append("banking_apply_latency_seconds{quantile=\"").append(decimal(percentile / 100)).append("\"} ")
+                .append(decimal(h.percentile(percentile) / 1e9)).append('\n');
+        }
+        sb.append("banking_apply_latency_seconds_sum ").append(decimal(h.sum() / 1e9)).append('\n')
+            .append("banking_apply_latency_seconds_count ").append(h.count()).append('\n');
+        return sb.toString();
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? "p" + (long) percentile : "p" + decimal(percentile);
+    }
+
+    /**
+     * Nine significant digits without trailing fraction zeros. Only zeros after a decimal point are trimmed, so
+     * integers such as {@code 100000000} keep theirs.
+     */
+    private static String decimal(double value) {
+        return String.format(Locale.ROOT, "%.9g", value)
+            .replaceAll("(\\.\\d*?)0+($|e)", "$1$2")
+            .replaceAll("\\.($|e)", "$1");
+    }
+}
@@ -0,0 +1,196 @@
+package com.mable.banking.server;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.LineError;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.service.ConcurrentLedger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mable.banking.service.Validator.parseAccountId;
+
+/**
+ * Small local HTTP API over a {@link ConcurrentLedger}. Bodies and responses are plain text in the same
+ * CSV layout as the input and report files:
+ * <ul>
+ *   <li>{@code POST /transfers} — body {@code from,to,amount}; responds with the report row
+ *       {@code from,to,amount,STATUS};</li>
+ *   <li>{@code POST /transfers/batch} — one transfer per line; every line is validated before any is
+ *       applied, then the transfers are applied in order and one report row per line is returned;</li>
+ *   <li>{@code GET /accounts/{id}} — the account's balance, e.g. {@code 4820.50}.</li>
+ * </ul>
+ * Invalid input gets {@code 400} with {@code lineNumber: message} lines; an unknown account gets {@code 404}.
+ * Business outcomes such as {@code INSUFFICIENT_BALANCE} are normal {@code 200} responses.
+ */
+@Slf4j
+public class TransferServer implements Closeable {
+
+    private static final String TRANSFERS = "/transfers";
+    private static final String BATCH = "/transfers/batch";
+    private static final String ACCOUNTS = "/accounts/";
+
+    /**
+     * System property enabling TCP_NODELAY in the JDK HTTP server. The server writes headers and body separately,
+     * so without it the body waits on the client's delayed ACK and every response takes ~40 ms. The JDK reads it
+     * once, when its server classes load, so applications set it before creating the first server.
+     */
+    public static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final ConcurrentLedger ledger;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Binds to {@code address}. Requests are handled on a fixed pool of {@code threads} daemon threads.
+     */
+    public TransferServer(ConcurrentLedger ledger, InetSocketAddress address, int threads) throws IOException {
+        if (ledger == null) {
+            throw new ValidationException("Ledger cannot be null");
+        }
+        if (threads <= 0) {
+            throw new ValidationException("Thread count must be positive");
+        }
+        this.ledger = ledger;
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreads());
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext(TRANSFERS, this::handleTransfers);
+        server.createContext(ACCOUNTS, this::handleAccount);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Transfer API listening on {}", server.getAddress());
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Transfer API stopped");
+    }
+
+    private void handleTransfers(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            boolean batch = BATCH.equals(path);
+            if (!batch && !TRANSFERS.equals(path)) {
+                respond(exchange, 404, "Not found");
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Use POST");
+                return;
+            }
+
+            List<CentsTransfer> transfers = new ArrayList<>();
+            List<LineError> errors = new ArrayList<>();
+            try (BufferedReader body = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                new TransactionCsvReader().readCents(body, transfers::add, errors::add);
+            }
+            if (!errors.isEmpty()) {
+                StringBuilder sb = new StringBuilder();
+                for (LineError error : errors) {
+                    sb.append(error.lineNumber()).append(": ").append(error.errorMessage()).append('\n');
+                }
+                respond(exchange, 400, sb.toString());
+                return;
+            }
+            if (transfers.isEmpty() || (!batch && transfers.size() > 1)) {
+                respond(exchange, 400, batch ? "Batch must contain at least one transfer" : "Body must be one transfer: from,to,amount");
+                return;
+            }
+
+            StringBuilder sb = new StringBuilder(transfers.size() * 64);
+            for (CentsTransfer transfer : transfers) {
+                try {
+                    appendRow(sb, transfer, ledger.transfer(transfer));
+                } catch (BankingException e) {
+                    // Nothing of this transfer was applied; rows before it were, and stay in the body.
+                    sb.append("error: ").append(e.getMessage()).append('\n');
+                    respond(exchange, 422, sb.toString());
+                    return;
+                }
+            }
+            respond(exchange, 200, sb.toString());
+        }
+    }
+
+    private void handleAccount(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Use GET");
+                return;
+            }
+            String id = exchange.getRequestURI().getPath().substring(ACCOUNTS.length());
+            long accountId;
+            try {
+                accountId = parseAccountId(id, 0, id.length(), null);
+            } catch (ValidationException e) {
+                respond(exchange, 400, e.getMessage());
+                return;
+            }
+            long balance = ledger.balance(accountId);
+            if (balance < 0) {
+                respond(exchange, 404, "Unknown account " + id);
+                return;
+            }
+            respond(exchange, 200, Money.format(balance) + "\n");
+        }
+    }
+
+    private static void appendRow(StringBuilder sb, CentsTransfer transfer, TransactionStatus status) {
+        sb.append(AccountIds.format(transfer.fromAccountId())).append(',')
+            .append(AccountIds.format(transfer.toAccountId())).append(',');
+        Money.appendTo(sb, transfer.amountCents());
+        sb.append(',').append(status).append('\n');
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "transfer-api-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
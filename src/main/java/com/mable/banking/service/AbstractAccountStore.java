@@ -0,0 +1,113 @@
+package com.mable.banking.service;
+
+import com.mable.banking.exception.ValidationException;
+
+/**
+ * Index arithmetic and balance rules shared by the {@link AccountStore}s: accounts sit at dense indexes in
+ * insertion order, and an open-addressing table of {@code index + 1} slots (0 = empty) maps an ID to its index
+ * with linear probing. Subclasses only say where IDs, balances and slots are stored.
+ */
+public abstract class AbstractAccountStore implements AccountStore {
+
+    /**
+     * Number of slots for a table that keeps {@code accounts} entries at most half full: the smallest power of two
+     * of at least twice that.
+     */
+    protected static int tableSizeFor(int accounts) {
+        return Integer.highestOneBit(accounts * 2 - 1) << 1;
+    }
+
+    /** Slot count minus one; the slot count is a power of two. */
+    protected abstract int slotMask();
+
+    protected abstract int slot(int slot);
+
+    protected abstract void setSlot(int slot, int entry);
+
+    /**
+     * Stores an account whose ID is not present yet at index {@link #size()} and returns that index.
+     */
+    protected abstract int append(long accountId, long balanceCents);
+
+    protected abstract void putBalance(int i, long balanceCents);
+
+    /**
+     * Replaces the slot table with an empty one of twice the size. Only called once the table is more than half
+     * full, which a store whose table is sized for its capacity up front never reaches.
+     */
+    protected void growSlots() {
+        throw new IllegalStateException("Slot table of " + (slotMask() + 1) + " slots is full");
+    }
+
+    @Override
+    public int add(long accountId, long balanceCents) {
+        int slot = slotOf(accountId);
+        int entry;
+        while ((entry = slot(slot)) != 0) {
+            if (accountId(entry - 1) == accountId) {
+                return -1;
+            }
+            slot = (slot + 1) & slotMask();
+        }
+        int index = append(accountId, balanceCents);
+        setSlot(slot, index + 1);
+        if (size() * 2L > slotMask() + 1L) {
+            growSlots();
+            reindex();
+        }
+        return index;
+    }
+
+    @Override
+    public int indexOf(long accountId) {
+        int slot = slotOf(accountId);
+        int entry;
+        while ((entry = slot(slot)) != 0) {
+            if (accountId(entry - 1) == accountId) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & slotMask();
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean hasSufficientBalance(int i, long amountCents) {
+        return amountCents > 0 && balance(i) >= amountCents;
+    }
+
+    @Override
+    public void debit(int i, long amountCents) {
+        if (!hasSufficientBalance(i, amountCents)) {
+            throw new ValidationException("Insufficient balance for debit");
+        }
+        putBalance(i, balance(i) - amountCents);
+    }
+
+    @Override
+    public void credit(int i, long amountCents) {
+        if (amountCents <= 0) {
+            throw new ValidationException("Credit amount must be positive");
+        }
+        putBalance(i, Math.addExact(balance(i), amountCents));
+    }
+
+    private int slotOf(long accountId) {
+        long h = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & slotMask();
+    }
+
+    /**
+     * Fills an empty slot table with every stored index.
+     */
+    private void reindex() {
+        int mask = slotMask();
+        for (int i = 0; i < size(); i++) {
+            int slot = slotOf(accountId(i));
+            while (slot(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            setSlot(slot, i + 1);
+        }
+    }
+}
@@ -20,7 +20,7 @@ public class AccountService {
             throw new ValidationException("Insufficient balance for debit");
         }
         account.setBalance(account.getBalance().subtract(amount));
-        log.info("Debited {} from account {}", amount, account.getAccountId());
+        log.debug("Debited {} from account {}", amount, account.getAccountId());
     }
 
     public void credit(Account account, BigDecimal amount) {
@@ -28,7 +28,7 @@ public class AccountService {
             throw new ValidationException("Credit amount must be positive");
         }
         account.setBalance(account.getBalance().add(amount));
-        log.info("Credited {} to account {}", amount, account.getAccountId());
+        log.debug("Credited {} to account {}", amount, account.getAccountId());
     }
 
     private static boolean isAmountNegative(BigDecimal amount) {
@@ -0,0 +1,13 @@
+package com.mable.banking.service;
+
+/**
+ * Target for loaded balances: anything accounts can be appended to, whether or not it supports transfers.
+ */
+@FunctionalInterface
+public interface AccountSink {
+
+    /**
+     * Appends an account and returns its index, or -1 when the ID is already present.
+     */
+    int add(long accountId, long balanceCents);
+}
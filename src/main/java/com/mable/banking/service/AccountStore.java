@@ -0,0 +1,31 @@
+package com.mable.banking.service;
+
+/**
+ * Cents balances addressed by a dense account index, as used by {@link CentsTransferProcessor}.
+ * <p>
+ * Accounts keep the index {@link #add} returned for as long as the store exists, and indexes run from 0 to
+ * {@code size() - 1} in insertion order, so loaders and writers can walk a store the way they walk the balance file.
+ */
+public interface AccountStore extends AccountSink {
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the index of {@code accountId}, or -1 when the store does not hold it.
+     */
+    int indexOf(long accountId);
+
+    long accountId(int i);
+
+    long balance(int i);
+
+    boolean hasSufficientBalance(int i, long amountCents);
+
+    void debit(int i, long amountCents);
+
+    void credit(int i, long amountCents);
+}
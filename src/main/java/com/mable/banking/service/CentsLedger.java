@@ -0,0 +1,126 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.Money;
+import com.mable.banking.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Account balances held as {@code long} cents, keyed by the numeric account ID.
+ * <p>
+ * IDs and balances live in parallel arrays in insertion order, indexed through the slot table of
+ * {@link AbstractAccountStore}.
+ */
+public class CentsLedger extends AbstractAccountStore {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] accountIds;
+    private long[] balances;
+    private int size;
+
+    private int[] slots;
+    private int mask;
+
+    public CentsLedger(int expectedAccounts) {
+        int capacity = Math.max(MIN_CAPACITY, expectedAccounts);
+        this.accountIds = new long[capacity];
+        this.balances = new long[capacity];
+        allocateSlots(capacity);
+    }
+
+    private CentsLedger(CentsLedger source) {
+        this.accountIds = Arrays.copyOf(source.accountIds, source.size);
+        this.balances = Arrays.copyOf(source.balances, source.size);
+        this.size = source.size;
+        this.slots = source.slots.clone();
+        this.mask = source.mask;
+    }
+
+    public static CentsLedger of(Map<String, Account> accounts) {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
+        }
+        CentsLedger ledger = new CentsLedger(accounts.size());
+        for (Account account : accounts.values()) {
+            long balanceCents = Validator.validateBalanceCents(account.getBalance());
+            ledger.add(AccountIds.toLong(account.getAccountId()), balanceCents);
+        }
+        return ledger;
+    }
+
+    public CentsLedger copy() {
+        return new CentsLedger(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long accountId(int i) {
+        return accountIds[i];
+    }
+
+    @Override
+    public long balance(int i) {
+        return balances[i];
+    }
+
+    public Map<String, Account> toAccounts() {
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String accountId = AccountIds.format(accountIds[i]);
+            accounts.put(accountId, new Account(accountId, Money.toBigDecimal(balances[i])));
+        }
+        return accounts;
+    }
+
+    @Override
+    protected int slotMask() {
+        return mask;
+    }
+
+    @Override
+    protected int slot(int slot) {
+        return slots[slot];
+    }
+
+    @Override
+    protected void setSlot(int slot, int entry) {
+        slots[slot] = entry;
+    }
+
+    @Override
+    protected int append(long accountId, long balanceCents) {
+        if (size == accountIds.length) {
+            int capacity = Math.max(MIN_CAPACITY, size * 2);
+            accountIds = Arrays.copyOf(accountIds, capacity);
+            balances = Arrays.copyOf(balances, capacity);
+        }
+        accountIds[size] = accountId;
+        balances[size] = balanceCents;
+        return size++;
+    }
+
+    @Override
+    protected void putBalance(int i, long balanceCents) {
+        balances[i] = balanceCents;
+    }
+
+    @Override
+    protected void growSlots() {
+        allocateSlots(slots.length);
+    }
+
+    private void allocateSlots(int expectedAccounts) {
+        int tableSize = tableSizeFor(Math.max(MIN_CAPACITY, expectedAccounts));
+        slots = new int[tableSize];
+        mask = tableSize - 1;
+    }
+}
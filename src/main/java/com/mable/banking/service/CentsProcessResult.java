@@ -0,0 +1,43 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a cents batch kept in cents: the closing balances and one status per transfer, in the order of the
+ * transfer list the caller passed in. Report rows can be encoded from that list and {@link #statuses()} without
+ * building a String per transfer.
+ */
+public record CentsProcessResult(AccountStore ledger, TransactionStatus[] statuses, StatusCounts statusCounts) {
+
+    public List<TransactionResult> transactionResults(List<CentsTransfer> transfers) {
+        List<TransactionResult> results = new ArrayList<>(statuses.length);
+        for (int i = 0; i < statuses.length; i++) {
+            results.add(CentsTransferProcessor.toResult(transfers.get(i), statuses[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Converts to the {@code BigDecimal} engine's result, for callers that compare or print it.
+     */
+    public ProcessResult toProcessResult(List<CentsTransfer> transfers) {
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        for (int i = 0; i < ledger.size(); i++) {
+            String accountId = AccountIds.format(ledger.accountId(i));
+            accounts.put(accountId, new Account(accountId, Money.toBigDecimal(ledger.balance(i))));
+        }
+        return new ProcessResult(accounts, transactionResults(transfers), statusCounts);
+    }
+}
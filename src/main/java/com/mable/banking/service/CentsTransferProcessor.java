@@ -0,0 +1,192 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.metrics.LatencyHistogram;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Same rules as {@link TransferProcessor}, applied to {@code long} cents instead of {@code BigDecimal}.
+ */
+@Slf4j
+@AllArgsConstructor
+public class CentsTransferProcessor {
+
+    private final TransferAudit audit;
+    /** Receives the nanoseconds spent applying each transfer, or {@code null} to skip timing. */
+    private final LatencyHistogram latencies;
+
+    public CentsTransferProcessor() {
+        this(TransferAudit.NONE);
+    }
+
+    public CentsTransferProcessor(TransferAudit audit) {
+        this(audit, null);
+    }
+
+    public ProcessResult process(Map<String, Account> accounts, List<CentsTransfer> transfers) {
+        if (transfers == null) {
+            throw new ValidationException("Transfers cannot be null");
+        }
+        return processInPlace(CentsLedger.of(accounts), transfers).toProcessResult(transfers);
+    }
+
+    public ProcessResult process(CentsLedger accounts, List<CentsTransfer> transfers) {
+        return processCents(accounts, transfers).toProcessResult(transfers);
+    }
+
+    public ProcessResult process(CentsLedger accounts, List<CentsTransfer> transfers,
+                                 TransferClassifier.Classification classification) {
+        return processCents(accounts, transfers, classification).toProcessResult(transfers);
+    }
+
+    /**
+     * Applies {@code transfers} to a copy of {@code accounts} and returns the closing ledger with the statuses,
+     * without building report rows.
+     */
+    public CentsProcessResult processCents(CentsLedger accounts, List<CentsTransfer> transfers) {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
+        }
+        if (transfers == null) {
+            throw new ValidationException("Transfers cannot be null");
+        }
+        return processInPlace(accounts.copy(), transfers);
+    }
+
+    /**
+     * Like {@link #processCents(CentsLedger, List)}, with the statuses that do not depend on balances taken from
+     * {@code classification}, which must have been made against {@code accounts}. The sequential loop then only
+     * checks balances and moves money for the transfers left open.
+     */
+    public CentsProcessResult processCents(CentsLedger accounts, List<CentsTransfer> transfers,
+                                           TransferClassifier.Classification classification) {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
+        }
+        if (transfers == null || classification == null || classification.size() != transfers.size()) {
+            throw new ValidationException("Transfers must be given with their classification");
+        }
+        CentsLedger ledger = accounts.copy();
+        log.info("Processing {} classified transfers across {} accounts", transfers.size(), ledger.size());
+
+        TransactionStatus[] statuses = new TransactionStatus[transfers.size()];
+        StatusCounts counts = new StatusCounts();
+        for (int t = 0; t < transfers.size(); t++) {
+            CentsTransfer transfer = transfers.get(t);
+            TransactionStatus status = classification.statuses[t];
+            if (status == null) {
+                status = timedApply(ledger, classification.fromIndex[t], classification.toIndex[t], transfer.amountCents());
+            }
+            if (audit != TransferAudit.NONE) {
+                audit.record(toResult(transfer, status));
+            }
+            counts.increment(status);
+            statuses[t] = status;
+        }
+        log.info("Processed {} transfers: {}", statuses.length, counts);
+        return new CentsProcessResult(ledger, statuses, counts);
+    }
+
+    private CentsProcessResult processInPlace(CentsLedger ledger, List<CentsTransfer> transfers) {
+        log.info("Processing {} transfers across {} accounts", transfers.size(), ledger.size());
+
+        TransactionStatus[] statuses = new TransactionStatus[transfers.size()];
+        StatusCounts counts = new StatusCounts();
+        for (int t = 0; t < transfers.size(); t++) {
+            statuses[t] = applyStatus(ledger, transfers.get(t));
+            counts.increment(statuses[t]);
+        }
+        log.info("Processed {} transfers: {}", statuses.length, counts);
+        return new CentsProcessResult(ledger, statuses, counts);
+    }
+
+    public TransactionResult apply(AccountStore ledger, CentsTransfer transfer) {
+        TransactionStatus status = timedApply(ledger, transfer);
+        TransactionResult result = toResult(transfer, status);
+        audit.record(result);
+        return result;
+    }
+
+    /**
+     * Applies one transfer and returns only its status, so callers that encode the row themselves
+     * never allocate the String-based {@link TransactionResult} unless an audit trail needs it.
+     */
+    public TransactionStatus applyStatus(AccountStore ledger, CentsTransfer transfer) {
+        TransactionStatus status = timedApply(ledger, transfer);
+        if (audit != TransferAudit.NONE) {
+            audit.record(toResult(transfer, status));
+        }
+        return status;
+    }
+
+    static TransactionResult toResult(CentsTransfer transfer, TransactionStatus status) {
+        return new TransactionResult(AccountIds.format(transfer.fromAccountId()), AccountIds.format(transfer.toAccountId()),
+            Money.format(transfer.amountCents()), status);
+    }
+
+    private TransactionStatus timedApply(AccountStore ledger, CentsTransfer transfer) {
+        if (latencies == null) {
+            return resolveAndApply(ledger, transfer);
+        }
+        long start = System.nanoTime();
+        TransactionStatus status = resolveAndApply(ledger, transfer);
+        latencies.record(System.nanoTime() - start);
+        return status;
+    }
+
+    private TransactionStatus timedApply(AccountStore ledger, int from, int to, long amountCents) {
+        if (latencies == null) {
+            return applyResolved(ledger, from, to, amountCents);
+        }
+        long start = System.nanoTime();
+        TransactionStatus status = applyResolved(ledger, from, to, amountCents);
+        latencies.record(System.nanoTime() - start);
+        return status;
+    }
+
+    private static TransactionStatus resolveAndApply(AccountStore ledger, CentsTransfer t) {
+        if (t.fromAccountId() == t.toAccountId()) {
+            return TransactionStatus.SAME_ACCOUNT;
+        }
+        int from = ledger.indexOf(t.fromAccountId());
+        if (from < 0) {
+            return TransactionStatus.UNKNOWN_FROM_ACCOUNT;
+        }
+        int to = ledger.indexOf(t.toAccountId());
+        if (to < 0) {
+            return TransactionStatus.UNKNOWN_TO_ACCOUNT;
+        }
+        return applyResolved(ledger, from, to, t.amountCents());
+    }
+
+    /**
+     * Moves {@code amountCents} between two known, distinct accounts if the from-account can cover it.
+     * A credit that would take the to-account past the largest {@code long} balance fails before either account
+     * is touched, so the store stays consistent.
+     */
+    static TransactionStatus applyResolved(AccountStore ledger, int from, int to, long amountCents) {
+        if (!ledger.hasSufficientBalance(from, amountCents)) {
+            return TransactionStatus.INSUFFICIENT_BALANCE;
+        }
+        if (ledger.balance(to) > Long.MAX_VALUE - amountCents) {
+            throw new BankingException("Balance of account " + AccountIds.format(ledger.accountId(to))
+                + " would exceed " + Money.format(Long.MAX_VALUE) + " after a transfer of " + Money.format(amountCents));
+        }
+        ledger.debit(from, amountCents);
+        ledger.credit(to, amountCents);
+        return TransactionStatus.APPLIED;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe view over a {@link CentsLedger} for live transfer submission.
+ * <p>
+ * The account set is fixed at construction, so ID lookups need no locking. Balances are guarded by
+ * a power-of-two array of stripe locks; a transfer takes the stripes of both accounts in ascending
+ * stripe order, which rules out deadlock and makes the balance check and the debit one atomic step.
+ */
+public class ConcurrentLedger {
+
+    private final CentsLedger ledger;
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+
+    public ConcurrentLedger(CentsLedger accounts) {
+        this(accounts, Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    public ConcurrentLedger(CentsLedger accounts, int stripeCount) {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
+        }
+        if (stripeCount <= 0) {
+            throw new ValidationException("Stripe count must be positive");
+        }
+        this.ledger = accounts.copy();
+        int size = Integer.highestOneBit(Math.min(stripeCount, 1 << 16) * 2 - 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+    }
+
+    public int size() {
+        return ledger.size();
+    }
+
+    public boolean contains(long accountId) {
+        return ledger.indexOf(accountId) >= 0;
+    }
+
+    /**
+     * Returns the current balance in cents, or -1 when the account is unknown.
+     */
+    public long balance(long accountId) {
+        int i = ledger.indexOf(accountId);
+        if (i < 0) {
+            return -1;
+        }
+        ReentrantLock lock = stripes[i & stripeMask];
+        lock.lock();
+        try {
+            return ledger.balance(i);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public TransactionResult submit(CentsTransfer transfer) {
+        return CentsTransferProcessor.toResult(transfer, transfer(transfer));
+    }
+
+    /**
+     * Applies {@code t} with the rules of {@link CentsTransferProcessor}. A credit that would take the to-account
+     * past the largest {@code long} balance throws before either balance changes.
+     */
+    public TransactionStatus transfer(CentsTransfer t) {
+        if (t.fromAccountId() == t.toAccountId()) {
+            return TransactionStatus.SAME_ACCOUNT;
+        }
+        int from = ledger.indexOf(t.fromAccountId());
+        if (from < 0) {
+            return TransactionStatus.UNKNOWN_FROM_ACCOUNT;
+        }
+        int to = ledger.indexOf(t.toAccountId());
+        if (to < 0) {
+            return TransactionStatus.UNKNOWN_TO_ACCOUNT;
+        }
+
+        int fromStripe = from & stripeMask;
+        int toStripe = to & stripeMask;
+        ReentrantLock first = stripes[Math.min(fromStripe, toStripe)];
+        ReentrantLock second = stripes[Math.max(fromStripe, toStripe)];
+        first.lock();
+        try {
+            if (second != first) {
+                second.lock();
+            }
+            try {
+                return CentsTransferProcessor.applyResolved(ledger, from, to, t.amountCents());
+            } finally {
+                if (second != first) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    /**
+     * Copies all balances while holding every stripe, giving a consistent point-in-time view.
+     */
+    public CentsLedger snapshot() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            return ledger.copy();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+}
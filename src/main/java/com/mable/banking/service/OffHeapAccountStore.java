@@ -0,0 +1,112 @@
+package com.mable.banking.service;
+
+import com.mable.banking.exception.ValidationException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link AccountStore} with the same layout as {@link CentsLedger}, but with IDs, balances and the slot table in
+ * direct buffers outside the Java heap. The collector never scans or copies them, so a very large account set
+ * adds nothing to GC pauses; the memory counts against {@code -XX:MaxDirectMemorySize} instead of {@code -Xmx}.
+ * <p>
+ * Each region is a single buffer addressed by an {@code int} byte offset, which caps the store at
+ * {@link #MAX_ACCOUNTS} accounts. Buffers are released when the store becomes unreachable.
+ */
+public class OffHeapAccountStore extends AbstractAccountStore {
+
+    static final int MAX_ACCOUNTS = 1 << 27;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private ByteBuffer accountIds;
+    private ByteBuffer balances;
+    private int capacity;
+    private int size;
+
+    private ByteBuffer slots;
+    private int mask;
+
+    public OffHeapAccountStore(int expectedAccounts) {
+        this.capacity = Math.min(MAX_ACCOUNTS, Math.max(MIN_CAPACITY, expectedAccounts));
+        this.accountIds = allocate((long) capacity * Long.BYTES);
+        this.balances = allocate((long) capacity * Long.BYTES);
+        allocateSlots(capacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long accountId(int i) {
+        return accountIds.getLong(i << 3);
+    }
+
+    @Override
+    public long balance(int i) {
+        return balances.getLong(i << 3);
+    }
+
+    @Override
+    protected int slotMask() {
+        return mask;
+    }
+
+    @Override
+    protected int slot(int slot) {
+        return slots.getInt(slot << 2);
+    }
+
+    @Override
+    protected void setSlot(int slot, int entry) {
+        slots.putInt(slot << 2, entry);
+    }
+
+    @Override
+    protected int append(long accountId, long balanceCents) {
+        if (size == capacity) {
+            grow();
+        }
+        accountIds.putLong(size << 3, accountId);
+        balances.putLong(size << 3, balanceCents);
+        return size++;
+    }
+
+    @Override
+    protected void putBalance(int i, long balanceCents) {
+        balances.putLong(i << 3, balanceCents);
+    }
+
+    @Override
+    protected void growSlots() {
+        allocateSlots(mask + 1);
+    }
+
+    private void grow() {
+        if (capacity == MAX_ACCOUNTS) {
+            throw new ValidationException("Off-heap store cannot hold more than " + MAX_ACCOUNTS + " accounts");
+        }
+        capacity = (int) Math.min(MAX_ACCOUNTS, capacity * 2L);
+        accountIds = copyOf(accountIds, capacity);
+        balances = copyOf(balances, capacity);
+    }
+
+    private ByteBuffer copyOf(ByteBuffer source, int entries) {
+        ByteBuffer grown = allocate((long) entries * Long.BYTES);
+        grown.put(0, source, 0, size * Long.BYTES);
+        return grown;
+    }
+
+    private void allocateSlots(int expectedAccounts) {
+        int tableSize = tableSizeFor(Math.max(MIN_CAPACITY, expectedAccounts));
+        slots = allocate((long) tableSize * Integer.BYTES);
+        mask = tableSize - 1;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        // allocateDirect zero-fills, which the slot table relies on for empty slots.
+        return ByteBuffer.allocateDirect(Math.toIntExact(bytes)).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,205 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Applies cents transfers in parallel while producing exactly the statuses of the sequential engine.
+ * <p>
+ * Transfers that can move money (known, distinct accounts) link their two accounts; each connected
+ * group of accounts is independent of every other, so groups run concurrently on a fork-join pool
+ * while the transfers inside a group keep their file order. Statuses that do not depend on balances
+ * are resolved up front by a {@link TransferClassifier} on the same pool.
+ */
+@Slf4j
+public class ParallelTransferProcessor {
+
+    private static final int GROUPS_PER_TASK = 64;
+
+    private final ForkJoinPool pool;
+    private final TransferAudit audit;
+
+    public ParallelTransferProcessor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelTransferProcessor(ForkJoinPool pool) {
+        this(pool, TransferAudit.NONE);
+    }
+
+    public ParallelTransferProcessor(ForkJoinPool pool, TransferAudit audit) {
+        this.pool = pool;
+        this.audit = audit;
+    }
+
+    public ProcessResult process(CentsLedger accounts, List<CentsTransfer> transfers) {
+        return processCents(accounts, transfers).toProcessResult(transfers);
+    }
+
+    /**
+     * Applies {@code transfers} to a copy of {@code accounts} and returns the closing ledger with the statuses,
+     * without building report rows.
+     */
+    public CentsProcessResult processCents(CentsLedger accounts, List<CentsTransfer> transfers) {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
+        }
+        if (transfers == null) {
+            throw new ValidationException("Transfers cannot be null");
+        }
+        log.info("Processing {} transfers across {} accounts on {} threads",
+            transfers.size(), accounts.size(), pool.getParallelism());
+
+        CentsLedger ledger = accounts.copy();
+        int count = transfers.size();
+        TransferClassifier.Classification classification = new TransferClassifier(pool).classify(ledger, transfers);
+        int[] fromIndex = classification.fromIndex;
+        int[] toIndex = classification.toIndex;
+        TransactionStatus[] statuses = classification.statuses;
+        AccountGroups groups = new AccountGroups(ledger.size());
+
+        for (int t = 0; t < count; t++) {
+            if (statuses[t] == null) {
+                groups.union(fromIndex[t], toIndex[t]);
+            }
+        }
+
+        int[][] transfersByGroup = groupTransfers(groups, fromIndex, statuses);
+        pool.invoke(new ApplyGroups(ledger, transfers, transfersByGroup, fromIndex, toIndex, statuses,
+            0, transfersByGroup.length));
+
+        StatusCounts counts = new StatusCounts();
+        for (int t = 0; t < count; t++) {
+            counts.increment(statuses[t]);
+            if (audit != TransferAudit.NONE) {
+                audit.record(CentsTransferProcessor.toResult(transfers.get(t), statuses[t]));
+            }
+        }
+        log.info("Processed {} transfers in {} independent groups: {}", count, transfersByGroup.length, counts);
+        return new CentsProcessResult(ledger, statuses, counts);
+    }
+
+    private static int[][] groupTransfers(AccountGroups groups, int[] fromIndex, TransactionStatus[] statuses) {
+        int[] groupOfRoot = new int[groups.size()];
+        int[] sizes = new int[groups.size()];
+        int groupCount = 0;
+        for (int t = 0; t < statuses.length; t++) {
+            if (statuses[t] != null) {
+                continue;
+            }
+            int root = groups.find(fromIndex[t]);
+            if (sizes[root]++ == 0) {
+                groupOfRoot[root] = groupCount++;
+            }
+        }
+
+        int[][] transfersByGroup = new int[groupCount][];
+        for (int root = 0; root < sizes.length; root++) {
+            if (sizes[root] > 0) {
+                transfersByGroup[groupOfRoot[root]] = new int[sizes[root]];
+            }
+        }
+        int[] filled = new int[groupCount];
+        for (int t = 0; t < statuses.length; t++) {
+            if (statuses[t] == null) {
+                int group = groupOfRoot[groups.find(fromIndex[t])];
+                transfersByGroup[group][filled[group]++] = t;
+            }
+        }
+        return transfersByGroup;
+    }
+
+    private static final class ApplyGroups extends RecursiveAction {
+
+        private final CentsLedger ledger;
+        private final List<CentsTransfer> transfers;
+        private final int[][] transfersByGroup;
+        private final int[] fromIndex;
+        private final int[] toIndex;
+        private final TransactionStatus[] statuses;
+        private final int startGroup;
+        private final int endGroup;
+
+        ApplyGroups(CentsLedger ledger, List<CentsTransfer> transfers, int[][] transfersByGroup,
+                    int[] fromIndex, int[] toIndex, TransactionStatus[] statuses, int startGroup, int endGroup) {
+            this.ledger = ledger;
+            this.transfers = transfers;
+            this.transfersByGroup = transfersByGroup;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.statuses = statuses;
+            this.startGroup = startGroup;
+            this.endGroup = endGroup;
+        }
+
+        @Override
+        protected void compute() {
+            if (endGroup - startGroup > GROUPS_PER_TASK) {
+                int mid = (startGroup + endGroup) >>> 1;
+                invokeAll(
+                    new ApplyGroups(ledger, transfers, transfersByGroup, fromIndex, toIndex, statuses, startGroup, mid),
+                    new ApplyGroups(ledger, transfers, transfersByGroup, fromIndex, toIndex, statuses, mid, endGroup));
+                return;
+            }
+            for (int g = startGroup; g < endGroup; g++) {
+                for (int t : transfersByGroup[g]) {
+                    statuses[t] = CentsTransferProcessor.applyResolved(ledger, fromIndex[t], toIndex[t],
+                        transfers.get(t).amountCents());
+                }
+            }
+        }
+    }
+
+    /**
+     * Union-find over ledger indices with path halving and union by size.
+     */
+    private static final class AccountGroups {
+
+        private final int[] parent;
+        private final int[] size;
+
+        AccountGroups(int accounts) {
+            parent = new int[accounts];
+            size = new int[accounts];
+            for (int i = 0; i < accounts; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+        }
+
+        int size() {
+            return parent.length;
+        }
+
+        int find(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        void union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return;
+            }
+            if (size[rootA] < size[rootB]) {
+                int tmp = rootA;
+                rootA = rootB;
+                rootB = tmp;
+            }
+            parent[rootB] = rootA;
+            size[rootA] += size[rootB];
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.mable.banking.service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable read-only view of opening balances: account IDs sorted ascending in one {@code long[]} with the
+ * balances in a parallel {@code long[]}. Lookups use interpolation search, which on evenly spread 16-digit IDs
+ * lands within a few slots of the target and touches only a handful of cache lines, with no hashing or boxing.
+ * <p>
+ * Meant for read-heavy passes such as validating transfers before they are applied; the balances do not change.
+ * Use {@link Builder} to fill it in one pass over a balance file.
+ */
+public final class SortedAccountIndex {
+
+    private final long[] accountIds;
+    private final long[] balances;
+
+    private SortedAccountIndex(long[] accountIds, long[] balances) {
+        this.accountIds = accountIds;
+        this.balances = balances;
+    }
+
+    public static SortedAccountIndex of(AccountStore store) {
+        Builder builder = new Builder(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            builder.add(store.accountId(i), store.balance(i));
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return accountIds.length;
+    }
+
+    public boolean contains(long accountId) {
+        return indexOf(accountId) >= 0;
+    }
+
+    /**
+     * Returns the position of {@code accountId} in ID order, or -1 when it is not present.
+     * <p>
+     * Each step probes where the ID would sit if IDs were spread evenly between the current bounds. When a probe
+     * fails to halve the range, for example on clustered IDs, the next step bisects instead, so a lookup never
+     * takes more than about twice the steps of a binary search.
+     */
+    public int indexOf(long accountId) {
+        int low = 0;
+        int high = accountIds.length - 1;
+        boolean bisect = false;
+        while (low <= high) {
+            long lowId = accountIds[low];
+            long highId = accountIds[high];
+            if (accountId < lowId || accountId > highId) {
+                return -1;
+            }
+            int probe;
+            if (bisect || lowId == highId) {
+                probe = (low + high) >>> 1;
+            } else {
+                probe = low + (int) ((double) (accountId - lowId) / (highId - lowId) * (high - low));
+            }
+            long probeId = accountIds[probe];
+            if (probeId == accountId) {
+                return probe;
+            }
+            int range = high - low;
+            if (probeId < accountId) {
+                low = probe + 1;
+            } else {
+                high = probe - 1;
+            }
+            bisect = !bisect && high - low > range / 2;
+        }
+        return -1;
+    }
+
+    public long accountId(int i) {
+        return accountIds[i];
+    }
+
+    public long balance(int i) {
+        return balances[i];
+    }
+
+    /**
+     * Collects accounts in file order. IDs that arrive ascending, as in a sorted balance file, are appended as they
+     * come and duplicates are caught by comparing with the previous ID. The first ID out of order moves what was
+     * collected into a {@link CentsLedger}, which detects duplicates from then on, and {@link #build} sorts once.
+     */
+    public static final class Builder implements AccountSink {
+
+        private static final int MIN_CAPACITY = 16;
+
+        private long[] accountIds;
+        private long[] balances;
+        private int size;
+        private CentsLedger unsorted;
+
+        public Builder(int expectedAccounts) {
+            int capacity = Math.max(MIN_CAPACITY, expectedAccounts);
+            this.accountIds = new long[capacity];
+            this.balances = new long[capacity];
+        }
+
+        @Override
+        public int add(long accountId, long balanceCents) {
+            if (unsorted != null) {
+                return unsorted.add(accountId, balanceCents);
+            }
+            if (size > 0 && accountId <= accountIds[size - 1]) {
+                if (accountId == accountIds[size - 1]) {
+                    return -1;
+                }
+                unsorted = new CentsLedger(size * 2);
+                for (int i = 0; i < size; i++) {
+                    unsorted.add(accountIds[i], balances[i]);
+                }
+                accountIds = null;
+                balances = null;
+                return unsorted.add(accountId, balanceCents);
+            }
+            if (size == accountIds.length) {
+                accountIds = Arrays.copyOf(accountIds, size * 2);
+                balances = Arrays.copyOf(balances, size * 2);
+            }
+            accountIds[size] = accountId;
+            balances[size] = balanceCents;
+            return size++;
+        }
+
+        public SortedAccountIndex build() {
+            if (unsorted == null) {
+                return new SortedAccountIndex(Arrays.copyOf(accountIds, size), Arrays.copyOf(balances, size));
+            }
+            long[] sortedIds = new long[unsorted.size()];
+            for (int i = 0; i < sortedIds.length; i++) {
+                sortedIds[i] = unsorted.accountId(i);
+            }
+            Arrays.sort(sortedIds);
+            long[] sortedBalances = new long[sortedIds.length];
+            for (int i = 0; i < sortedIds.length; i++) {
+                sortedBalances[i] = unsorted.balance(unsorted.indexOf(sortedIds[i]));
+            }
+            return new SortedAccountIndex(sortedIds, sortedBalances);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.TransactionResult;
+
+/**
+ * Receives every transaction result in processing order. Implementations decide what to keep.
+ */
+@FunctionalInterface
+public interface TransferAudit {
+
+    TransferAudit NONE = result -> {
+    };
+
+    void record(TransactionResult result);
+}
@@ -0,0 +1,168 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Resolves the statuses that do not depend on balances ({@code SAME_ACCOUNT}, {@code UNKNOWN_FROM_ACCOUNT},
+ * {@code UNKNOWN_TO_ACCOUNT}) for a whole batch before any transfer is applied, with the same precedence as
+ * {@link CentsTransferProcessor}. No account is added during a run, so these checks only read the store and
+ * are split across a fork-join pool; the apply loop is left with balance checks on already resolved indexes.
+ * <p>
+ * When the store's IDs ascend in index order and are spread evenly enough that interpolation lands within
+ * {@value #MAX_INTERPOLATION_ERROR} slots of every account, as for a balance file of consecutively issued IDs
+ * sorted by ID, lookups go through a {@link SortedAccountIndex} copied from the store, whose positions are then
+ * the store's indexes; its first probe then usually hits. For any other store, including sorted IDs with uneven
+ * gaps, where interpolation needs several scattered probes, the store's own hash index is faster and is used.
+ */
+@Slf4j
+public class TransferClassifier {
+
+    private static final int TRANSFERS_PER_TASK = 1 << 14;
+    /** One cache line of {@code long} IDs. */
+    static final int MAX_INTERPOLATION_ERROR = 8;
+
+    private final ForkJoinPool pool;
+
+    public TransferClassifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TransferClassifier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Classification classify(AccountStore accounts, List<CentsTransfer> transfers) {
+        if (accounts == null) {
+            throw new ValidationException("Accounts cannot be null");
+        }
+        if (transfers == null) {
+            throw new ValidationException("Transfers cannot be null");
+        }
+        Classification classification = new Classification(transfers.size());
+        LongToIntFunction indexOf = accounts::indexOf;
+        boolean sorted = evenlySpread(accounts);
+        if (sorted) {
+            indexOf = SortedAccountIndex.of(accounts)::indexOf;
+        }
+        pool.invoke(new ClassifyRange(indexOf, transfers, classification, 0, transfers.size()));
+
+        int rejected = 0;
+        for (TransactionStatus status : classification.statuses) {
+            if (status != null) {
+                rejected++;
+            }
+        }
+        log.info("Classified {} transfers on {} threads with the {} index: {} rejected before applying",
+            transfers.size(), pool.getParallelism(), sorted ? "sorted" : "hash", rejected);
+        return classification;
+    }
+
+    /**
+     * Returns the final status for transfers that cannot touch a balance, or {@code null} when the outcome
+     * depends on the from-account balance at the time the transfer is reached. Resolved indexes are stored
+     * at position {@code i} of {@code fromIndex} and {@code toIndex}.
+     */
+    static TransactionStatus classify(LongToIntFunction indexOf, CentsTransfer t, int i, int[] fromIndex, int[] toIndex) {
+        if (t.fromAccountId() == t.toAccountId()) {
+            return TransactionStatus.SAME_ACCOUNT;
+        }
+        fromIndex[i] = indexOf.applyAsInt(t.fromAccountId());
+        if (fromIndex[i] < 0) {
+            return TransactionStatus.UNKNOWN_FROM_ACCOUNT;
+        }
+        toIndex[i] = indexOf.applyAsInt(t.toAccountId());
+        if (toIndex[i] < 0) {
+            return TransactionStatus.UNKNOWN_TO_ACCOUNT;
+        }
+        return null;
+    }
+
+    /**
+     * Whether IDs ascend in index order with each one within {@link #MAX_INTERPOLATION_ERROR} slots of where a
+     * straight line from the first to the last ID puts it.
+     */
+    static boolean evenlySpread(AccountStore accounts) {
+        int last = accounts.size() - 1;
+        if (last < 1) {
+            return false;
+        }
+        long first = accounts.accountId(0);
+        double slotsPerId = last / ((double) accounts.accountId(last) - first);
+        for (int i = 1; i <= last; i++) {
+            long accountId = accounts.accountId(i);
+            if (accountId <= accounts.accountId(i - 1)
+                || Math.abs((accountId - first) * slotsPerId - i) > MAX_INTERPOLATION_ERROR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Per-transfer outcome of {@link #classify}: a final status, or {@code null} with the resolved account indexes.
+     * Only valid for the store it was made against.
+     */
+    public static final class Classification {
+
+        final TransactionStatus[] statuses;
+        final int[] fromIndex;
+        final int[] toIndex;
+
+        Classification(int transfers) {
+            this.statuses = new TransactionStatus[transfers];
+            this.fromIndex = new int[transfers];
+            this.toIndex = new int[transfers];
+        }
+
+        public int size() {
+            return statuses.length;
+        }
+
+        /**
+         * The status decided without balances, or {@code null} when transfer {@code i} still has to be applied.
+         */
+        public TransactionStatus status(int i) {
+            return statuses[i];
+        }
+    }
+
+    private static final class ClassifyRange extends RecursiveAction {
+
+        private final LongToIntFunction indexOf;
+        private final List<CentsTransfer> transfers;
+        private final Classification classification;
+        private final int start;
+        private final int end;
+
+        ClassifyRange(LongToIntFunction indexOf, List<CentsTransfer> transfers, Classification classification,
+                      int start, int end) {
+            this.indexOf = indexOf;
+            this.transfers = transfers;
+            this.classification = classification;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > TRANSFERS_PER_TASK) {
+                int mid = (start + end) >>> 1;
+                invokeAll(new ClassifyRange(indexOf, transfers, classification, start, mid),
+                    new ClassifyRange(indexOf, transfers, classification, mid, end));
+                return;
+            }
+            for (int t = start; t < end; t++) {
+                classification.statuses[t] = classify(indexOf, transfers.get(t), t,
+                    classification.fromIndex, classification.toIndex);
+            }
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.mable.banking.service;
 
 import com.mable.banking.domain.Account;
 import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.StatusCounts;
 import com.mable.banking.domain.TransactionResult;
 import com.mable.banking.domain.TransactionStatus;
 import com.mable.banking.domain.Transfer;
 import com.mable.banking.exception.ValidationException;
+import com.mable.banking.metrics.LatencyHistogram;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,37 +21,63 @@ import java.util.Map;
 public class TransferProcessor {
 
     private final AccountService accountService;
+    private final TransferAudit audit;
+    /** Receives the nanoseconds spent applying each transfer, or {@code null} to skip timing. */
+    private final LatencyHistogram latencies;
+
+    public TransferProcessor(AccountService accountService) {
+        this(accountService, TransferAudit.NONE);
+    }
+
+    public TransferProcessor(AccountService accountService, TransferAudit audit) {
+        this(accountService, audit, null);
+    }
 
     public ProcessResult process(Map<String, Account> accounts, List<Transfer> transfers) {
         validateData(accounts, transfers);
         log.info("Processing {} transfers across {} accounts", transfers.size(), accounts.size());
 
-        Map<String, Account> copyOfAccounts = new LinkedHashMap<>();
-        for (Account a : accounts.values()) {
-            copyOfAccounts.put(a.getAccountId(), new Account(a.getAccountId(), a.getBalance()));
-        }
+        Map<String, Account> copyOfAccounts = copyAccounts(accounts);
 
         List<TransactionResult> results = new ArrayList<>();
+        StatusCounts counts = new StatusCounts();
 
         for (Transfer transfer : transfers) {
-            performTransaction(transfer, copyOfAccounts, results);
+            TransactionResult result = apply(copyOfAccounts, transfer);
+            counts.increment(result.status());
+            results.add(result);
+        }
+        log.info("Processed {} transfers: {}", results.size(), counts);
+        return new ProcessResult(copyOfAccounts, results, counts);
+    }
+
+    public Map<String, Account> copyAccounts(Map<String, Account> accounts) {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
         }
-        long applied = results.stream().filter(r -> r.status() == TransactionStatus.APPLIED).count();
-        log.info("Processed {} transfers: {} applied", results.size(), applied);
-        return new ProcessResult(copyOfAccounts, results);
+        Map<String, Account> copyOfAccounts = new LinkedHashMap<>();
+        for (Account a : accounts.values()) {
+            copyOfAccounts.put(a.getAccountId(), new Account(a.getAccountId(), a.getBalance()));
+        }
+        return copyOfAccounts;
     }
 
-    private void performTransaction(Transfer transfer, Map<String, Account> copyOfAccounts, List<TransactionResult> results) {
+    public TransactionResult apply(Map<String, Account> copyOfAccounts, Transfer transfer) {
+        long start = latencies != null ? System.nanoTime() : 0;
         TransactionStatus status = resolveStatus(copyOfAccounts, transfer);
-        results.add(TransactionResult.of(transfer, status));
 
         if (status == TransactionStatus.APPLIED) {
             Account from = copyOfAccounts.get(transfer.fromAccountId());
             Account to = copyOfAccounts.get(transfer.toAccountId());
             accountService.debit(from, transfer.amount());
             accountService.credit(to, transfer.amount());
-            log.info("Transfer processed: {} -> {} amount: {}", transfer.fromAccountId(), transfer.toAccountId(), transfer.amount());
         }
+        if (latencies != null) {
+            latencies.record(System.nanoTime() - start);
+        }
+        TransactionResult result = TransactionResult.of(transfer, status);
+        audit.record(result);
+        return result;
     }
 
     private static void validateData(Map<String, Account> accounts, List<Transfer> transfers) {
@@ -1,5 +1,6 @@
 package com.mable.banking.service;
 
+import com.mable.banking.domain.Money;
 import com.mable.banking.exception.ValidationException;
 
 import java.math.BigDecimal;
@@ -8,7 +9,6 @@ import java.math.RoundingMode;
 public final class Validator {
 
     private static final int ACCOUNT_ID_LENGTH = 16;
-    private static final String ACCOUNT_ID_PATTERN = "\\d{" + ACCOUNT_ID_LENGTH + "}";
 
     private Validator() {
     }
@@ -18,19 +18,44 @@ public final class Validator {
     }
 
     public static String validateAccountId(String accountId, String fieldName) {
-        String prefix = fieldName != null ? "Transfer " + fieldName + " account ID" : "Account ID";
-
         if (accountId == null || accountId.isBlank()) {
-            throw new ValidationException(prefix + " cannot be null or blank");
+            throw blankAccountId(fieldName);
         }
 
         String trimmed = accountId.trim();
-        if (!trimmed.matches(ACCOUNT_ID_PATTERN)) {
-            throw new ValidationException(prefix + " must be exactly " + ACCOUNT_ID_LENGTH + " digits: " + accountId);
+        if (parseDigits(trimmed, 0, trimmed.length()) < 0) {
+            throw invalidAccountId(accountId, fieldName);
         }
         return trimmed;
     }
 
+    /**
+     * Validates the account ID in {@code [start, end)} of {@code text} and returns it as a {@code long} in the
+     * same pass. Accepts and rejects exactly what {@link #validateAccountId(String, String)} does, with the same
+     * messages; nothing is allocated unless the ID is invalid.
+     */
+    public static long parseAccountId(CharSequence text, int start, int end, String fieldName) {
+        int trimmedStart = start;
+        int trimmedEnd = end;
+        while (trimmedStart < trimmedEnd && text.charAt(trimmedStart) <= ' ') {
+            trimmedStart++;
+        }
+        while (trimmedEnd > trimmedStart && text.charAt(trimmedEnd - 1) <= ' ') {
+            trimmedEnd--;
+        }
+
+        long id = parseDigits(text, trimmedStart, trimmedEnd);
+        if (id >= 0) {
+            return id;
+        }
+
+        String accountId = text.subSequence(start, end).toString();
+        if (accountId.isBlank()) {
+            throw blankAccountId(fieldName);
+        }
+        throw invalidAccountId(accountId, fieldName);
+    }
+
     public static BigDecimal validateBalance(BigDecimal balance) {
         if (balance == null) {
             throw new ValidationException("Balance cannot be null");
@@ -50,4 +75,72 @@ public final class Validator {
         }
         return amount.setScale(2, RoundingMode.UNNECESSARY);
     }
+
+    public static long validateBalanceCents(long balanceCents) {
+        if (balanceCents < 0) {
+            throw new ValidationException("Balance cannot be negative");
+        }
+        return balanceCents;
+    }
+
+    public static long validateTransferAmountCents(long amountCents) {
+        if (amountCents <= 0) {
+            throw new ValidationException("Transfer amount must be positive");
+        }
+        return amountCents;
+    }
+
+    /**
+     * Converts a balance already checked by {@link #validateBalance} to cents, rejecting values the cents engine
+     * cannot hold.
+     */
+    public static long validateBalanceCents(BigDecimal balance) {
+        return validateBalanceCents(toCents(balance, "Balance"));
+    }
+
+    /**
+     * Converts a transfer amount already checked by {@link #validateTransferAmount} to cents, rejecting values the
+     * cents engine cannot hold.
+     */
+    public static long validateTransferAmountCents(BigDecimal amount) {
+        return validateTransferAmountCents(toCents(amount, "Transfer amount"));
+    }
+
+    private static long toCents(BigDecimal amount, String what) {
+        try {
+            return Money.toCents(amount);
+        } catch (ArithmeticException e) {
+            throw new ValidationException(what + " out of range: " + amount.toPlainString());
+        }
+    }
+
+    /**
+     * Returns the value of exactly {@value #ACCOUNT_ID_LENGTH} ASCII digits, or -1.
+     */
+    private static long parseDigits(CharSequence text, int start, int end) {
+        if (end - start != ACCOUNT_ID_LENGTH) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            id = id * 10 + digit;
+        }
+        return id;
+    }
+
+    private static ValidationException blankAccountId(String fieldName) {
+        return new ValidationException(prefix(fieldName) + " cannot be null or blank");
+    }
+
+    private static ValidationException invalidAccountId(String accountId, String fieldName) {
+        return new ValidationException(prefix(fieldName) + " must be exactly " + ACCOUNT_ID_LENGTH + " digits: " + accountId);
+    }
+
+    private static String prefix(String fieldName) {
+        return fieldName != null ? "Transfer " + fieldName + " account ID" : "Account ID";
+    }
 }
@@ -0,0 +1,87 @@
+package com.mable.banking.shard;
+
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts {@link ShardWorker}s as child JVMs on this machine, using the current Java runtime and class path.
+ * Workers log to this process's stderr and are stopped by {@link #close}.
+ */
+@Slf4j
+public class LocalShards implements Closeable {
+
+    private final List<Process> processes = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+
+    private LocalShards() {
+    }
+
+    public static LocalShards start(int count) throws IOException {
+        if (count <= 0) {
+            throw new ValidationException("Shard count must be positive");
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        LocalShards shards = new LocalShards();
+        try {
+            for (int s = 0; s < count; s++) {
+                Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    ShardWorker.class.getName())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+                shards.processes.add(process);
+            }
+            // Read ports only after every worker has been launched, so the JVMs start up in parallel.
+            for (Process process : shards.processes) {
+                shards.addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), readPort(process)));
+            }
+        } catch (IOException | RuntimeException e) {
+            shards.close();
+            throw e;
+        }
+        log.info("Started {} shard workers on ports {}", count, shards.addresses.stream().map(InetSocketAddress::getPort).toList());
+        return shards;
+    }
+
+    public List<InetSocketAddress> addresses() {
+        return List.copyOf(addresses);
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int readPort(Process process) throws IOException {
+        BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = stdout.readLine();
+        if (line == null || !line.startsWith(ShardProtocol.PORT_PREFIX)) {
+            throw new BankingException("Shard worker did not start: " + line);
+        }
+        return Integer.parseInt(line.substring(ShardProtocol.PORT_PREFIX.length()));
+    }
+}
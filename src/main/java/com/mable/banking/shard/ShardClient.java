@@ -0,0 +1,179 @@
+package com.mable.banking.shard;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static com.mable.banking.shard.ShardProtocol.*;
+
+/**
+ * Coordinator side of one shard connection for one run. {@code TRANSFER}, {@code RESERVE} and {@code CREDIT} ops
+ * are queued by transfer index and sent as one {@code APPLY} batch; at most one batch is in flight, so the
+ * coordinator and the shard never both wait on a full socket. Statuses are written into the run's status array
+ * as replies arrive, and each answered reservation is passed to the {@code reserveAnswered} callback.
+ */
+class ShardClient implements Closeable {
+
+    private final int shard;
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final List<CentsTransfer> transfers;
+    private final TransactionStatus[] statuses;
+    private final IntConsumer reserveAnswered;
+
+    private int[] queued;
+    private byte[] queuedOps;
+    private int queuedCount;
+    private int[] inFlight;
+    private byte[] inFlightOps;
+    private int inFlightCount;
+
+    ShardClient(int shard, InetSocketAddress address, int batchSize, List<CentsTransfer> transfers,
+                TransactionStatus[] statuses, IntConsumer reserveAnswered) throws IOException {
+        this.shard = shard;
+        this.socket = new Socket(address.getAddress(), address.getPort());
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.transfers = transfers;
+        this.statuses = statuses;
+        this.reserveAnswered = reserveAnswered;
+        this.queued = new int[batchSize];
+        this.queuedOps = new byte[batchSize];
+        this.inFlight = new int[batchSize];
+        this.inFlightOps = new byte[batchSize];
+    }
+
+    void load(long[] accountIds, long[] balances, int count) throws IOException {
+        out.writeByte(LOAD);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(accountIds[i]);
+            out.writeLong(balances[i]);
+        }
+        out.flush();
+        expectOk();
+    }
+
+    /**
+     * Queues op {@code op} for transfer {@code index}; a full queue is sent once the previous batch has been answered.
+     */
+    void queue(byte op, int index) throws IOException {
+        queued[queuedCount] = index;
+        queuedOps[queuedCount++] = op;
+        if (queuedCount == queued.length) {
+            receive();
+            send();
+        }
+    }
+
+    /**
+     * Sends any queued ops without waiting for their replies.
+     */
+    void flush() throws IOException {
+        if (queuedCount > 0) {
+            receive();
+            send();
+        }
+    }
+
+    /**
+     * Waits for the batch in flight, if any. After a {@link #flush} this answers every op queued so far.
+     */
+    void receive() throws IOException {
+        for (int i = 0; i < inFlightCount; i++) {
+            byte reply = readReply();
+            if (inFlightOps[i] == CREDIT) {
+                if (reply != OK) {
+                    throw new BankingException("Shard " + shard + " sent unexpected reply " + reply);
+                }
+                continue;
+            }
+            statuses[inFlight[i]] = decode(reply);
+            if (inFlightOps[i] == RESERVE) {
+                reserveAnswered.accept(inFlight[i]);
+            }
+        }
+        inFlightCount = 0;
+    }
+
+    /**
+     * Sends queued ops and waits until every one is answered, so the shard's balances are up to date.
+     */
+    void sync() throws IOException {
+        flush();
+        receive();
+    }
+
+    long[] balances() throws IOException {
+        out.writeByte(BALANCES);
+        out.flush();
+        expectOk();
+        long[] balances = new long[in.readInt()];
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = in.readLong();
+        }
+        return balances;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private void send() throws IOException {
+        out.writeByte(APPLY);
+        out.writeInt(queuedCount);
+        for (int i = 0; i < queuedCount; i++) {
+            CentsTransfer transfer = transfers.get(queued[i]);
+            out.writeByte(queuedOps[i]);
+            switch (queuedOps[i]) {
+                case TRANSFER -> {
+                    out.writeLong(transfer.fromAccountId());
+                    out.writeLong(transfer.toAccountId());
+                }
+                case RESERVE -> out.writeLong(transfer.fromAccountId());
+                case CREDIT -> out.writeLong(transfer.toAccountId());
+                default -> throw new IllegalStateException("Unknown shard op " + queuedOps[i]);
+            }
+            out.writeLong(transfer.amountCents());
+        }
+        out.flush();
+
+        int[] sent = queued;
+        queued = inFlight;
+        inFlight = sent;
+        byte[] sentOps = queuedOps;
+        queuedOps = inFlightOps;
+        inFlightOps = sentOps;
+        inFlightCount = queuedCount;
+        queuedCount = 0;
+    }
+
+    private void expectOk() throws IOException {
+        byte reply = readReply();
+        if (reply != OK) {
+            throw new BankingException("Shard " + shard + " sent unexpected reply " + reply);
+        }
+    }
+
+    private byte readReply() throws IOException {
+        byte reply = in.readByte();
+        if (reply == ERROR) {
+            throw new BankingException("Shard " + shard + " failed: " + in.readUTF());
+        }
+        return reply;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mable.banking.shard;
+
+import com.mable.banking.domain.TransactionStatus;
+
+/**
+ * Wire format between {@link ShardedTransferProcessor} and {@link ShardWorker}. Every request is an opcode byte
+ * followed by big-endian fields; every reply starts with a status byte, which is a
+ * {@link TransactionStatus} ordinal, {@link #OK} or {@link #ERROR} followed by a UTF message.
+ * <ul>
+ *   <li>{@code LOAD n (id, cents)*n} → {@code OK} — replaces the shard's ledger;</li>
+ *   <li>{@code APPLY n op*n} → one reply per op, in order:
+ *     <ul>
+ *       <li>{@code TRANSFER from to cents} → status — a transfer with both accounts on this shard;</li>
+ *       <li>{@code RESERVE from cents} → {@code INSUFFICIENT_BALANCE}, or {@code APPLIED} once the debit has
+ *           been taken — the debit side of a cross-shard transfer;</li>
+ *       <li>{@code CREDIT to cents} → {@code OK} — the credit side of a reservation that was taken;</li>
+ *     </ul></li>
+ *   <li>{@code BALANCES} → {@code OK n cents*n} in {@code LOAD} order.</li>
+ * </ul>
+ */
+final class ShardProtocol {
+
+    static final byte LOAD = 1;
+    static final byte APPLY = 2;
+    static final byte BALANCES = 3;
+
+    static final byte TRANSFER = 1;
+    static final byte RESERVE = 2;
+    static final byte CREDIT = 3;
+
+    static final byte OK = 100;
+    static final byte ERROR = -1;
+
+    /** First line a worker prints on stdout, followed by its port. */
+    static final String PORT_PREFIX = "shard-port=";
+
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    private ShardProtocol() {
+    }
+
+    /**
+     * Shard owning {@code accountId}. IDs are mixed first so sequential IDs spread evenly.
+     */
+    static int shardOf(long accountId, int shards) {
+        long mixed = accountId * 0x9E3779B97F4A7C15L;
+        return (int) ((mixed >>> 32) % shards);
+    }
+
+    static byte encode(TransactionStatus status) {
+        return (byte) status.ordinal();
+    }
+
+    static TransactionStatus decode(byte status) {
+        return STATUSES[status];
+    }
+}
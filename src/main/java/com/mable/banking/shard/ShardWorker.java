@@ -0,0 +1,184 @@
+package com.mable.banking.shard;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsTransferProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static com.mable.banking.shard.ShardProtocol.*;
+
+/**
+ * One shard of a sharded run: holds the accounts it was sent in a {@link CentsLedger} and serves
+ * {@link ShardProtocol} requests from one coordinator connection at a time. Transfers local to the shard use
+ * the same rules as {@link CentsTransferProcessor}.
+ *
+ * <p>Run as a process with {@code java ... ShardWorker [port]}; it listens on the loopback address and prints
+ * {@code shard-port=<port>} on stdout once ready.</p>
+ */
+@Slf4j
+public class ShardWorker implements Closeable {
+
+    private final ServerSocket server;
+    private final CentsTransferProcessor processor = new CentsTransferProcessor();
+    private CentsLedger ledger = new CentsLedger(0);
+
+    public ShardWorker(ServerSocket server) {
+        this.server = server;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try (ShardWorker worker = new ShardWorker(new ServerSocket(port, 1, InetAddress.getLoopbackAddress()))) {
+            System.out.println(PORT_PREFIX + worker.port());
+            System.out.flush();
+            worker.serve();
+        }
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Serves coordinator connections one after another until the server socket is closed.
+     */
+    public void serve() throws IOException {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (server.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            try (socket) {
+                socket.setTcpNoDelay(true);
+                handle(new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+                    new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+            } catch (EOFException e) {
+                log.debug("Coordinator disconnected");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void handle(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            byte op = in.readByte();
+            try {
+                switch (op) {
+                    case LOAD -> load(in, out);
+                    case APPLY -> apply(in, out);
+                    case BALANCES -> balances(out);
+                    default -> throw new IOException("Unknown shard request " + op);
+                }
+            } catch (RuntimeException e) {
+                // The request was read in full, so the connection stays usable after reporting the failure.
+                out.writeByte(ERROR);
+                out.writeUTF(String.valueOf(e.getMessage()));
+            }
+            out.flush();
+        }
+    }
+
+    private void load(DataInputStream in, DataOutputStream out) throws IOException {
+        int count = in.readInt();
+        CentsLedger loaded = new CentsLedger(count);
+        for (int i = 0; i < count; i++) {
+            loaded.add(in.readLong(), in.readLong());
+        }
+        ledger = loaded;
+        log.info("Shard on port {} holds {} accounts", port(), count);
+        out.writeByte(OK);
+    }
+
+    /**
+     * Reads the whole batch before applying it, so a failing op leaves the connection at a request boundary.
+     */
+    private void apply(DataInputStream in, DataOutputStream out) throws IOException {
+        int count = in.readInt();
+        byte[] ops = new byte[count];
+        long[] accounts = new long[count];
+        long[] toAccounts = new long[count];
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            ops[i] = in.readByte();
+            accounts[i] = in.readLong();
+            if (ops[i] == TRANSFER) {
+                toAccounts[i] = in.readLong();
+            }
+            amounts[i] = in.readLong();
+        }
+        byte[] replies = new byte[count];
+        for (int i = 0; i < count; i++) {
+            replies[i] = switch (ops[i]) {
+                case TRANSFER -> encode(processor.applyStatus(ledger,
+                    new CentsTransfer(accounts[i], toAccounts[i], amounts[i])));
+                case RESERVE -> encode(reserve(accounts[i], amounts[i]));
+                case CREDIT -> credit(accounts[i], amounts[i]);
+                default -> throw new BankingException("Unknown shard op " + ops[i]);
+            };
+        }
+        out.write(replies);
+    }
+
+    /**
+     * Debit side of a cross-shard transfer, taken straight away. The coordinator queues the matching credit
+     * before any later op that debits the credited account, so balances evolve as in a single-ledger run.
+     */
+    private TransactionStatus reserve(long fromAccountId, long amountCents) {
+        int from = indexOf(fromAccountId);
+        if (!ledger.hasSufficientBalance(from, amountCents)) {
+            return TransactionStatus.INSUFFICIENT_BALANCE;
+        }
+        ledger.debit(from, amountCents);
+        return TransactionStatus.APPLIED;
+    }
+
+    private byte credit(long accountId, long amountCents) {
+        int account = indexOf(accountId);
+        if (ledger.balance(account) > Long.MAX_VALUE - amountCents) {
+            throw new BankingException("Balance of account " + AccountIds.format(accountId) + " would exceed "
+                + Money.format(Long.MAX_VALUE));
+        }
+        ledger.credit(account, amountCents);
+        return OK;
+    }
+
+    private int indexOf(long accountId) {
+        int account = ledger.indexOf(accountId);
+        if (account < 0) {
+            throw new BankingException("Shard does not hold account " + AccountIds.format(accountId));
+        }
+        return account;
+    }
+
+    private void balances(DataOutputStream out) throws IOException {
+        out.writeByte(OK);
+        out.writeInt(ledger.size());
+        for (int i = 0; i < ledger.size(); i++) {
+            out.writeLong(ledger.balance(i));
+        }
+    }
+}
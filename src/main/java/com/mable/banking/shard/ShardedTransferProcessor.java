@@ -0,0 +1,282 @@
+package com.mable.banking.shard;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsProcessResult;
+import com.mable.banking.service.TransferAudit;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies cents transfers across accounts partitioned by ID hash over several {@link ShardWorker}s, producing
+ * exactly the statuses of the sequential engine.
+ * <p>
+ * The coordinator keeps the opening ledger, so it settles {@code SAME_ACCOUNT} and unknown accounts itself and
+ * only sends shards transfers between known accounts, in file order. A transfer whose accounts share a shard is
+ * queued there as one op. A cross-shard transfer is split: a {@code RESERVE} queued on the debit shard and,
+ * once that reservation comes back applied, a {@code CREDIT} queued on the credit shard. Both travel in the
+ * ordinary batches, so cross-shard transfers are pipelined like local ones.
+ * <p>
+ * Only debits depend on balances, and each account's debits reach its shard in file order. The one thing that
+ * can break single-ledger order is a credit still waiting on its reservation when a later transfer debits the
+ * same account; before queueing such a debit the coordinator drains the shards with unanswered reservations
+ * and queues their credits first. Credits to accounts that are not debited again simply trail behind.
+ */
+@Slf4j
+public class ShardedTransferProcessor {
+
+    private static final int BATCH_SIZE = 4096;
+
+    private final List<InetSocketAddress> shards;
+    private final TransferAudit audit;
+
+    public ShardedTransferProcessor(List<InetSocketAddress> shards) {
+        this(shards, TransferAudit.NONE);
+    }
+
+    public ShardedTransferProcessor(List<InetSocketAddress> shards, TransferAudit audit) {
+        if (shards == null || shards.isEmpty()) {
+            throw new ValidationException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.audit = audit;
+    }
+
+    public ProcessResult process(CentsLedger accounts, List<CentsTransfer> transfers) throws IOException {
+        return processCents(accounts, transfers).toProcessResult(transfers);
+    }
+
+    /**
+     * Runs {@code transfers} on the shards and returns the closing balances gathered from them with the statuses,
+     * without building report rows.
+     */
+    public CentsProcessResult processCents(CentsLedger accounts, List<CentsTransfer> transfers) throws IOException {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new ValidationException("Accounts cannot be null or empty");
+        }
+        if (transfers == null) {
+            throw new ValidationException("Transfers cannot be null");
+        }
+        log.info("Processing {} transfers across {} accounts on {} shards", transfers.size(), accounts.size(), shards.size());
+
+        int shardCount = shards.size();
+        TransactionStatus[] statuses = new TransactionStatus[transfers.size()];
+        CrossShardCredits credits = new CrossShardCredits(accounts, transfers, statuses, shardCount);
+        List<ShardClient> clients = new ArrayList<>(shardCount);
+        try {
+            for (int s = 0; s < shardCount; s++) {
+                clients.add(new ShardClient(s, shards.get(s), BATCH_SIZE, transfers, statuses, credits::answered));
+            }
+            credits.clients = clients;
+            int[][] owned = distribute(accounts, clients);
+
+            long crossShard = 0;
+            for (int i = 0; i < transfers.size(); i++) {
+                CentsTransfer transfer = transfers.get(i);
+                if (transfer.fromAccountId() == transfer.toAccountId()) {
+                    statuses[i] = TransactionStatus.SAME_ACCOUNT;
+                    continue;
+                }
+                int from = accounts.indexOf(transfer.fromAccountId());
+                if (from < 0) {
+                    statuses[i] = TransactionStatus.UNKNOWN_FROM_ACCOUNT;
+                    continue;
+                }
+                int to = accounts.indexOf(transfer.toAccountId());
+                if (to < 0) {
+                    statuses[i] = TransactionStatus.UNKNOWN_TO_ACCOUNT;
+                    continue;
+                }
+                if (credits.pending[from] > 0) {
+                    credits.resolve();
+                }
+                int debitShard = ShardProtocol.shardOf(transfer.fromAccountId(), shardCount);
+                int creditShard = ShardProtocol.shardOf(transfer.toAccountId(), shardCount);
+                if (debitShard == creditShard) {
+                    clients.get(debitShard).queue(ShardProtocol.TRANSFER, i);
+                } else {
+                    credits.reserve(debitShard, to);
+                    clients.get(debitShard).queue(ShardProtocol.RESERVE, i);
+                    crossShard++;
+                }
+                credits.queueAnswered();
+            }
+            while (credits.unanswered > 0) {
+                credits.resolve();
+            }
+            for (ShardClient client : clients) {
+                client.flush();
+            }
+            for (ShardClient client : clients) {
+                client.sync();
+            }
+
+            CentsLedger closing = collect(accounts, clients, owned);
+            StatusCounts counts = new StatusCounts();
+            for (int i = 0; i < statuses.length; i++) {
+                counts.increment(statuses[i]);
+                if (audit != TransferAudit.NONE) {
+                    audit.record(new TransactionResult(AccountIds.format(transfers.get(i).fromAccountId()),
+                        AccountIds.format(transfers.get(i).toAccountId()), Money.format(transfers.get(i).amountCents()),
+                        statuses[i]));
+                }
+            }
+            log.info("Processed {} transfers ({} cross-shard, {} drains for pending credits): {}",
+                transfers.size(), crossShard, credits.drains, counts);
+            return new CentsProcessResult(closing, statuses, counts);
+        } finally {
+            for (ShardClient client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    /**
+     * Sends each shard its accounts and returns, per shard, the ledger indexes it holds in the order sent.
+     */
+    private static int[][] distribute(CentsLedger accounts, List<ShardClient> clients) throws IOException {
+        int shardCount = clients.size();
+        int[] counts = new int[shardCount];
+        int[] shardOf = new int[accounts.size()];
+        for (int i = 0; i < accounts.size(); i++) {
+            shardOf[i] = ShardProtocol.shardOf(accounts.accountId(i), shardCount);
+            counts[shardOf[i]]++;
+        }
+        int[][] owned = new int[shardCount][];
+        for (int s = 0; s < shardCount; s++) {
+            owned[s] = new int[counts[s]];
+            counts[s] = 0;
+        }
+        for (int i = 0; i < accounts.size(); i++) {
+            owned[shardOf[i]][counts[shardOf[i]]++] = i;
+        }
+
+        for (int s = 0; s < shardCount; s++) {
+            long[] ids = new long[owned[s].length];
+            long[] balances = new long[owned[s].length];
+            for (int k = 0; k < ids.length; k++) {
+                ids[k] = accounts.accountId(owned[s][k]);
+                balances[k] = accounts.balance(owned[s][k]);
+            }
+            clients.get(s).load(ids, balances, ids.length);
+        }
+        return owned;
+    }
+
+    /**
+     * Gathers closing balances back into a ledger in the original account order.
+     */
+    private static CentsLedger collect(CentsLedger accounts, List<ShardClient> clients, int[][] owned) throws IOException {
+        long[] balances = new long[accounts.size()];
+        for (int s = 0; s < clients.size(); s++) {
+            long[] shardBalances = clients.get(s).balances();
+            for (int k = 0; k < shardBalances.length; k++) {
+                balances[owned[s][k]] = shardBalances[k];
+            }
+        }
+        CentsLedger closing = new CentsLedger(accounts.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            closing.add(accounts.accountId(i), balances[i]);
+        }
+        return closing;
+    }
+
+    /**
+     * Bookkeeping for cross-shard transfers whose credit has not been queued yet: how many such credits each
+     * account is owed, how many reservations each shard has not answered, and the answered reservations waiting
+     * for their credit to be queued.
+     */
+    private static final class CrossShardCredits {
+
+        private final CentsLedger accounts;
+        private final List<CentsTransfer> transfers;
+        private final TransactionStatus[] statuses;
+        private final int[] pending;
+        private final int[] unansweredByShard;
+        private int[] answered = new int[64];
+        private int answeredHead;
+        private int answeredTail;
+        private int unanswered;
+        private long drains;
+        private List<ShardClient> clients;
+
+        CrossShardCredits(CentsLedger accounts, List<CentsTransfer> transfers, TransactionStatus[] statuses, int shards) {
+            this.accounts = accounts;
+            this.transfers = transfers;
+            this.statuses = statuses;
+            this.pending = new int[accounts.size()];
+            this.unansweredByShard = new int[shards];
+        }
+
+        void reserve(int debitShard, int to) {
+            pending[to]++;
+            unansweredByShard[debitShard]++;
+            unanswered++;
+        }
+
+        /**
+         * Called by a client as each reservation reply arrives. Credits are queued later by {@link #queueAnswered}
+         * rather than here, because queueing can send a batch and so receive more replies.
+         */
+        void answered(int index) {
+            if (answeredTail == answered.length) {
+                int count = answeredTail - answeredHead;
+                if (count * 2 > answered.length) {
+                    answered = Arrays.copyOf(answered, answered.length * 2);
+                }
+                System.arraycopy(answered, answeredHead, answered, 0, count);
+                answeredHead = 0;
+                answeredTail = count;
+            }
+            answered[answeredTail++] = index;
+            unansweredByShard[shardOf(transfers.get(index).fromAccountId())]--;
+            unanswered--;
+        }
+
+        void queueAnswered() throws IOException {
+            while (answeredHead < answeredTail) {
+                int index = answered[answeredHead++];
+                CentsTransfer transfer = transfers.get(index);
+                pending[accounts.indexOf(transfer.toAccountId())]--;
+                if (statuses[index] == TransactionStatus.APPLIED) {
+                    clients.get(shardOf(transfer.toAccountId())).queue(ShardProtocol.CREDIT, index);
+                }
+            }
+        }
+
+        /**
+         * Sends every shard holding unanswered reservations its queue, then waits for all of them, so their round
+         * trips overlap, and queues the credits that come back.
+         */
+        void resolve() throws IOException {
+            drains++;
+            for (int s = 0; s < clients.size(); s++) {
+                if (unansweredByShard[s] > 0) {
+                    clients.get(s).flush();
+                }
+            }
+            for (int s = 0; s < clients.size(); s++) {
+                if (unansweredByShard[s] > 0) {
+                    clients.get(s).receive();
+                }
+            }
+            queueAnswered();
+        }
+
+        private int shardOf(long accountId) {
+            return ShardProtocol.shardOf(accountId, clients.size());
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.mable.banking.app;
 
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.Money;
 import com.mable.banking.domain.TransactionStatus;
 import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.BalanceSnapshotFile;
+import com.mable.banking.io.ColumnarReport;
+import com.mable.banking.io.MappedAccountFile;
 import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.io.TransactionReportAppender;
+import com.mable.banking.io.TransactionReportWriter;
+import com.mable.banking.io.TransferJournal;
+import com.mable.banking.service.CentsTransferProcessor;
 import com.mable.banking.service.AccountService;
 import com.mable.banking.service.TransferProcessor;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,4 +53,312 @@ class BankingIntegrationTest {
         assertEquals(new BigDecimal("1725.60"), result.accounts().get("1212343433335665").getBalance());
         assertEquals(new BigDecimal("48679.50"), result.accounts().get("3212343433335755").getBalance());
     }
+
+    @Test
+    @DisplayName("streaming mode writes the same report as the batch mode")
+    void streamingModeMatchesBatchReport(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path batchReport = tempDir.resolve("batch/report.csv");
+        Path streamingReport = tempDir.resolve("streaming/report.csv");
+        Main.main(new String[]{balancePath.toString(), transferPath.toString(), batchReport.toString(),
+            tempDir.resolve("batch/balance_errors.csv").toString(), tempDir.resolve("batch/transaction_errors.csv").toString()});
+        Main.main(new String[]{"--streaming", balancePath.toString(), transferPath.toString(), streamingReport.toString(),
+            tempDir.resolve("streaming/balance_errors.csv").toString(), tempDir.resolve("streaming/transaction_errors.csv").toString()});
+
+        assertArrayEquals(Files.readAllBytes(batchReport), Files.readAllBytes(streamingReport));
+    }
+
+    @Test
+    @DisplayName("cents engine writes the same report as the BigDecimal engine")
+    void centsEngineMatchesBigDecimalReport(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path expectedReport = tempDir.resolve("decimal/report.csv");
+        Main.main(new String[]{balancePath.toString(), transferPath.toString(), expectedReport.toString(),
+            tempDir.resolve("decimal/balance_errors.csv").toString(), tempDir.resolve("decimal/transaction_errors.csv").toString()});
+        for (String mode : new String[]{"--cents", "--streaming", "--parallel", "--mapped", "--parallel-parse", "--pipelined", "--shards=2", "--prevalidate"}) {
+            Path report = tempDir.resolve(mode.substring(2) + "/report.csv");
+            Main.main(new String[]{"--cents", mode, balancePath.toString(), transferPath.toString(), report.toString(),
+                tempDir.resolve(mode.substring(2) + "/balance_errors.csv").toString(),
+                tempDir.resolve(mode.substring(2) + "/transaction_errors.csv").toString()});
+            assertArrayEquals(Files.readAllBytes(expectedReport), Files.readAllBytes(report));
+        }
+    }
+
+    @Test
+    @DisplayName("a day run from the previous snapshot continues where the full replay would be")
+    void snapshotRunContinuesFromPreviousDay(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        List<String> transfers = Files.readAllLines(transferPath);
+        Path dayOne = Files.write(tempDir.resolve("day1.csv"), transfers.subList(0, 3));
+        Path dayTwo = Files.write(tempDir.resolve("day2.csv"), transfers.subList(3, transfers.size()));
+        Path snapshot = tempDir.resolve("state/balances.snapshot");
+
+        Path fullReport = tempDir.resolve("full/report.csv");
+        Main.main(new String[]{balancePath.toString(), transferPath.toString(), fullReport.toString(),
+            tempDir.resolve("full/balance_errors.csv").toString(), tempDir.resolve("full/transaction_errors.csv").toString()});
+        Main.main(new String[]{"--snapshot=" + snapshot, balancePath.toString(), dayOne.toString(),
+            tempDir.resolve("day1/report.csv").toString(),
+            tempDir.resolve("day1/balance_errors.csv").toString(), tempDir.resolve("day1/transaction_errors.csv").toString()});
+        Path dayTwoReport = tempDir.resolve("day2/report.csv");
+        Main.main(new String[]{"--snapshot=" + snapshot, "--streaming", tempDir.resolve("missing.csv").toString(),
+            dayTwo.toString(), dayTwoReport.toString(),
+            tempDir.resolve("day2/balance_errors.csv").toString(), tempDir.resolve("day2/transaction_errors.csv").toString()});
+
+        List<String> full = Files.readAllLines(fullReport);
+        List<String> expected = new ArrayList<>(full.subList(0, 1));
+        expected.addAll(full.subList(4, full.size()));
+        assertEquals(expected, Files.readAllLines(dayTwoReport));
+
+        var snapshots = new BalanceSnapshotFile();
+        var closing = snapshots.read(snapshot).ledger();
+        int index = closing.indexOf(1111234522226789L);
+        assertEquals(482_050L, closing.balance(index));
+        var history = snapshots.readHistory(snapshot);
+        assertEquals(snapshots.checksum(balancePath), history.balancesChecksum());
+        assertEquals(List.of(snapshots.transferFileKey(dayOne), snapshots.transferFileKey(dayTwo)), history.transferFileKeys());
+    }
+
+    @Test
+    @DisplayName("two days without transfers in a row are both applied")
+    void consecutiveEmptyDaysAreApplied(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        if (!balancePath.toFile().exists()) {
+            return;
+        }
+        Path dayOne = Files.write(tempDir.resolve("transfers-2026-10-12.csv"), new byte[0]);
+        Path dayTwo = Files.write(tempDir.resolve("transfers-2026-10-13.csv"), new byte[0]);
+        Path snapshot = tempDir.resolve("state/balances.snapshot");
+        Path accountFile = tempDir.resolve("state/accounts.dat");
+
+        for (Path day : List.of(dayOne, dayTwo)) {
+            String name = "out-" + day.getFileName();
+            Main.main(new String[]{"--snapshot=" + snapshot, balancePath.toString(), day.toString(),
+                tempDir.resolve(name + "/report.csv").toString(), tempDir.resolve(name + "/balance_errors.csv").toString(),
+                tempDir.resolve(name + "/transaction_errors.csv").toString()});
+            Main.main(new String[]{"--account-file=" + accountFile, "--streaming", balancePath.toString(), day.toString(),
+                tempDir.resolve(name + "/file-report.csv").toString(),
+                tempDir.resolve(name + "/file-balance_errors.csv").toString(),
+                tempDir.resolve(name + "/file-transaction_errors.csv").toString()});
+        }
+
+        var snapshots = new BalanceSnapshotFile();
+        assertEquals(List.of(snapshots.transferFileKey(dayOne), snapshots.transferFileKey(dayTwo)),
+            snapshots.readHistory(snapshot).transferFileKeys());
+        try (MappedAccountFile file = MappedAccountFile.open(accountFile)) {
+            assertEquals(snapshots.transferFileKey(dayTwo), file.transferFileKey());
+        }
+    }
+
+    @Test
+    @DisplayName("a day run on the account file continues from the previous day's balances without the CSV")
+    void accountFileRunContinuesFromPreviousDay(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        List<String> transfers = Files.readAllLines(transferPath);
+        Path dayOne = Files.write(tempDir.resolve("day1.csv"), transfers.subList(0, 3));
+        Path dayTwo = Files.write(tempDir.resolve("day2.csv"), transfers.subList(3, transfers.size()));
+        Path accountFile = tempDir.resolve("state/accounts.dat");
+
+        Path fullReport = tempDir.resolve("full/report.csv");
+        Main.main(new String[]{balancePath.toString(), transferPath.toString(), fullReport.toString(),
+            tempDir.resolve("full/balance_errors.csv").toString(), tempDir.resolve("full/transaction_errors.csv").toString()});
+        Main.main(new String[]{"--account-file=" + accountFile, "--streaming", balancePath.toString(), dayOne.toString(),
+            tempDir.resolve("day1/report.csv").toString(),
+            tempDir.resolve("day1/balance_errors.csv").toString(), tempDir.resolve("day1/transaction_errors.csv").toString()});
+        Path dayTwoReport = tempDir.resolve("day2/report.csv");
+        Main.main(new String[]{"--account-file=" + accountFile, "--pipelined", tempDir.resolve("missing.csv").toString(),
+            dayTwo.toString(), dayTwoReport.toString(),
+            tempDir.resolve("day2/balance_errors.csv").toString(), tempDir.resolve("day2/transaction_errors.csv").toString()});
+
+        List<String> full = Files.readAllLines(fullReport);
+        List<String> expected = new ArrayList<>(full.subList(0, 1));
+        expected.addAll(full.subList(4, full.size()));
+        assertEquals(expected, Files.readAllLines(dayTwoReport));
+
+        try (MappedAccountFile closing = MappedAccountFile.open(accountFile)) {
+            assertEquals(482_050L, closing.balance(closing.indexOf(1111234522226789L)));
+        }
+    }
+
+    @Test
+    @DisplayName("a journaled run resumes after a crash and writes the same report")
+    void journaledRunResumesAfterCrash(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path expectedReport = tempDir.resolve("expected/report.csv");
+        Main.main(new String[]{"--cents", balancePath.toString(), transferPath.toString(), expectedReport.toString(),
+            tempDir.resolve("expected/balance_errors.csv").toString(), tempDir.resolve("expected/transaction_errors.csv").toString()});
+
+        // Simulate a run that committed three transfers, wrote one more row and then died.
+        Path journalDir = tempDir.resolve("journal");
+        Path report = tempDir.resolve("resumed/report.csv");
+        Files.createDirectories(report.getParent());
+        var transfers = new TransactionCsvReader().loadCents(transferPath).transfers();
+        var opening = new AccountCsvReader().loadLedger(balancePath).ledger();
+        var processor = new CentsTransferProcessor();
+        try (TransferJournal journal = TransferJournal.open(journalDir, opening, new BalanceSnapshotFile().transferFileKey(transferPath));
+             TransactionReportAppender appender = new TransactionReportWriter().open(report)) {
+            for (int i = 0; i < 4; i++) {
+                TransactionStatus status = processor.applyStatus(journal.ledger(), transfers.get(i));
+                if (status == TransactionStatus.APPLIED) {
+                    journal.recordApplied(i, transfers.get(i));
+                }
+                appender.append(transfers.get(i), status);
+                if (i == 2) {
+                    journal.commit(3, appender.sync());
+                }
+            }
+        }
+
+        Main.main(new String[]{"--journal=" + journalDir, balancePath.toString(), transferPath.toString(), report.toString(),
+            tempDir.resolve("resumed/balance_errors.csv").toString(), tempDir.resolve("resumed/transaction_errors.csv").toString()});
+
+        assertArrayEquals(Files.readAllBytes(expectedReport), Files.readAllBytes(report));
+        try (var files = Files.list(journalDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("every engine writes the same closing balances in balance file order")
+    void closingBalancesMatchAcrossModes(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path expected = tempDir.resolve("decimal/closing.csv");
+        Main.main(new String[]{"--closing-balances=" + expected, balancePath.toString(), transferPath.toString(),
+            tempDir.resolve("decimal/report.csv").toString(),
+            tempDir.resolve("decimal/balance_errors.csv").toString(), tempDir.resolve("decimal/transaction_errors.csv").toString()});
+        assertEquals(List.of(
+            "1111234522226789,4820.50",
+            "1111234522221234,9974.40",
+            "2222123433331212,1550.00",
+            "1212343433335665,1725.60",
+            "3212343433335755,48679.50",
+            "1111234522226780,0.00"), Files.readAllLines(expected));
+
+        String[][] modes = {{"--streaming"}, {"--cents"}, {"--cents", "--streaming"}, {"--parallel"},
+            {"--journal=" + tempDir.resolve("journal")}, {"--pipelined"}, {"--streaming", "--off-heap"},
+            {"--pipelined", "--off-heap", "--mapped"}};
+        for (int m = 0; m < modes.length; m++) {
+            Path closing = tempDir.resolve("mode" + m + "/closing.csv");
+            List<String> args = new ArrayList<>(List.of(modes[m]));
+            args.addAll(List.of("--closing-balances=" + closing, balancePath.toString(), transferPath.toString(),
+                tempDir.resolve("mode" + m + "/report.csv").toString(),
+                tempDir.resolve("mode" + m + "/balance_errors.csv").toString(),
+                tempDir.resolve("mode" + m + "/transaction_errors.csv").toString()));
+            Main.main(args.toArray(String[]::new));
+            assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(closing), String.join(" ", modes[m]));
+        }
+    }
+
+    @Test
+    @DisplayName("a directory of transfer files gives the same reports as running each file on the previous closing balances")
+    void multiFileRunMatchesChainedRuns(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path in = Files.createDirectories(tempDir.resolve("in"));
+        for (String branch : List.of("branch-1", "branch-2", "branch-3")) {
+            Files.copy(transferPath, in.resolve(branch + ".csv"));
+        }
+        Main.main(new String[]{"--closing-balances=" + tempDir.resolve("multi/closing.csv"), balancePath.toString(),
+            in.toString(), tempDir.resolve("multi/report.csv").toString(),
+            tempDir.resolve("multi/balance_errors.csv").toString(), tempDir.resolve("multi/transaction_errors.csv").toString()});
+
+        Path balances = balancePath;
+        for (String branch : List.of("branch-1", "branch-2", "branch-3")) {
+            Path closing = tempDir.resolve("chained/" + branch + "-closing.csv");
+            Path report = tempDir.resolve("chained/" + branch + ".csv");
+            Main.main(new String[]{"--cents", "--closing-balances=" + closing, balances.toString(), transferPath.toString(),
+                report.toString(), tempDir.resolve("chained/balance_errors.csv").toString(),
+                tempDir.resolve("chained/transaction_errors.csv").toString()});
+            assertArrayEquals(Files.readAllBytes(report),
+                Files.readAllBytes(tempDir.resolve("multi/report-" + branch + ".csv")), branch);
+            balances = closing;
+        }
+        assertArrayEquals(Files.readAllBytes(balances), Files.readAllBytes(tempDir.resolve("multi/closing.csv")));
+    }
+
+    @Test
+    @DisplayName("the columnar report holds the same rows as the CSV report")
+    void columnarReportMatchesCsvReport(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path csvReport = tempDir.resolve("report.csv");
+        Path columnar = tempDir.resolve("report.bin");
+        Main.main(new String[]{"--cents", "--columnar=" + columnar, balancePath.toString(), transferPath.toString(),
+            csvReport.toString(), tempDir.resolve("balance_errors.csv").toString(), tempDir.resolve("transaction_errors.csv").toString()});
+
+        List<String> rows = Files.readAllLines(csvReport);
+        try (ColumnarReport report = ColumnarReport.open(columnar)) {
+            assertEquals(rows.size() - 1, report.rowCount());
+            for (int i = 0; i < report.rowCount(); i++) {
+                assertEquals(rows.get(i + 1), AccountIds.format(report.fromAccountId(i)) + ","
+                    + AccountIds.format(report.toAccountId(i)) + "," + Money.format(report.amountCents(i)) + "," + report.status(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("a run exports phase metrics as JSON or Prometheus text")
+    void exportsMetrics(@TempDir Path tempDir) throws Exception {
+        Path balancePath = Path.of("src/main/resources/input/mable_account_balances.csv");
+        Path transferPath = Path.of("src/main/resources/input/mable_transactions.csv");
+        if (!balancePath.toFile().exists() || !transferPath.toFile().exists()) {
+            return;
+        }
+
+        Path json = tempDir.resolve("metrics/run.json");
+        Main.main(new String[]{"--metrics=" + json, balancePath.toString(), transferPath.toString(),
+            tempDir.resolve("json/report.csv").toString(),
+            tempDir.resolve("json/balance_errors.csv").toString(), tempDir.resolve("json/transaction_errors.csv").toString()});
+        String text = Files.readString(json);
+        for (String phase : List.of("load-balances", "load-transfers", "process", "write-report")) {
+            assertTrue(text.contains("\"name\": \"" + phase + "\""), text);
+        }
+        assertTrue(text.contains("\"applyLatencyNanos\": {\"count\": 6,"), text);
+
+        Path prometheus = tempDir.resolve("metrics/run.prom");
+        Main.main(new String[]{"--cents", "--streaming", "--metrics=" + prometheus, balancePath.toString(),
+            transferPath.toString(), tempDir.resolve("prom/report.csv").toString(),
+            tempDir.resolve("prom/balance_errors.csv").toString(), tempDir.resolve("prom/transaction_errors.csv").toString()});
+        text = Files.readString(prometheus);
+        assertTrue(text.contains("banking_phase_items{phase=\"process\"} 6\n"), text);
+        assertTrue(text.contains("banking_phase_bytes_read{phase=\"process\"} " + Files.size(transferPath) + "\n"), text);
+        assertTrue(text.contains("banking_apply_latency_seconds_count 6\n"), text);
+    }
 }
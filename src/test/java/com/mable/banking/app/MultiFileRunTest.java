@@ -0,0 +1,109 @@
+package com.mable.banking.app;
+
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsTransferProcessor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileRunTest {
+
+    private static final String A = "1111234522226789";
+    private static final String B = "1212343433335665";
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Resolving transfer files")
+    class Resolve {
+
+        @Test
+        @DisplayName("a directory yields its .csv files sorted by name")
+        void directory() throws IOException {
+            Path in = Files.createDirectories(tempDir.resolve("in"));
+            Files.writeString(in.resolve("branch-10.csv"), "");
+            Files.writeString(in.resolve("branch-02.csv"), "");
+            Files.writeString(in.resolve("notes.txt"), "");
+            Files.createDirectories(in.resolve("archive.csv"));
+
+            assertTrue(MultiFileRun.isMultiFile(in));
+            assertEquals(List.of(in.resolve("branch-02.csv"), in.resolve("branch-10.csv")), MultiFileRun.resolve(in));
+        }
+
+        @Test
+        @DisplayName("a glob matches file names in its parent directory")
+        void glob() throws IOException {
+            Path in = Files.createDirectories(tempDir.resolve("in"));
+            Files.writeString(in.resolve("branch-b.csv"), "");
+            Files.writeString(in.resolve("branch-a.csv"), "");
+            Files.writeString(in.resolve("other.csv"), "");
+
+            Path pattern = in.resolve("branch-*.csv");
+            assertTrue(MultiFileRun.isMultiFile(pattern));
+            assertEquals(List.of(in.resolve("branch-a.csv"), in.resolve("branch-b.csv")), MultiFileRun.resolve(pattern));
+            assertFalse(MultiFileRun.isMultiFile(in.resolve("other.csv")));
+        }
+
+        @Test
+        @DisplayName("no match or a glob in the directory part is rejected")
+        void rejected() throws IOException {
+            Files.createDirectories(tempDir.resolve("in"));
+
+            assertThrows(ValidationException.class, () -> MultiFileRun.resolve(tempDir.resolve("in/*.csv")));
+            assertThrows(ValidationException.class, () -> MultiFileRun.resolve(tempDir.resolve("i*/a.csv")));
+        }
+
+        @Test
+        @DisplayName("output names append the transfer file's name to the configured path")
+        void outputNames() {
+            assertEquals(Path.of("out/transaction_report-branch-07.csv"),
+                MultiFileRun.outputFor(Path.of("out/transaction_report.csv"), Path.of("in/branch-07.csv")));
+            assertEquals(Path.of("report-day1"), MultiFileRun.outputFor(Path.of("report"), Path.of("day1")));
+        }
+    }
+
+    @Test
+    @DisplayName("files are applied in name order to one ledger, each with its own report and error file")
+    void appliesFilesInOrder() throws IOException {
+        Path in = Files.createDirectories(tempDir.resolve("in"));
+        // b-second.csv needs the credit from a-first.csv to succeed.
+        Files.writeString(in.resolve("b-second.csv"), B + "," + A + ",150.00\n" + A + "," + B + ",abc\n");
+        Files.writeString(in.resolve("a-first.csv"), A + "," + B + ",100.00\n" + A + "," + B + ",1000.00\n");
+        CentsLedger ledger = new CentsLedger(2);
+        ledger.add(Long.parseLong(A), 500_00);
+        ledger.add(Long.parseLong(B), 50_00);
+
+        Path out = tempDir.resolve("out");
+        Files.createDirectories(out);
+        MultiFileRun.Summary summary = new MultiFileRun(new CentsTransferProcessor(), true)
+            .run(ledger, MultiFileRun.resolve(in), out.resolve("report.csv"), out.resolve("errors.csv"));
+
+        assertEquals(List.of("From Account,To Account,Amount,Status",
+            A + "," + B + ",100.00,APPLIED",
+            A + "," + B + ",1000.00,INSUFFICIENT_BALANCE"), Files.readAllLines(out.resolve("report-a-first.csv")));
+        assertEquals(List.of("From Account,To Account,Amount,Status",
+            B + "," + A + ",150.00,APPLIED"), Files.readAllLines(out.resolve("report-b-second.csv")));
+        assertFalse(Files.exists(out.resolve("errors-a-first.csv")));
+        assertEquals(2, Files.readAllLines(out.resolve("errors-b-second.csv")).size());
+
+        assertEquals(2, summary.files());
+        assertEquals(3, summary.transfers());
+        assertEquals(1, summary.errors());
+        assertEquals(2, summary.statusCounts().get(TransactionStatus.APPLIED));
+        assertEquals(1, summary.statusCounts().get(TransactionStatus.INSUFFICIENT_BALANCE));
+        assertEquals(550_00, ledger.balance(ledger.indexOf(Long.parseLong(A))));
+        assertEquals(0, ledger.balance(ledger.indexOf(Long.parseLong(B))));
+    }
+}
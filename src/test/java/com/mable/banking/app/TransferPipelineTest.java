@@ -0,0 +1,145 @@
+package com.mable.banking.app;
+
+import com.mable.banking.domain.StatusCounts;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.io.AccountCsvReader;
+import com.mable.banking.io.CentsTransactionLoadResult;
+import com.mable.banking.io.ErrorReportAppender;
+import com.mable.banking.io.ErrorReportWriter;
+import com.mable.banking.io.TransactionCsvReader;
+import com.mable.banking.io.TransactionReportAppender;
+import com.mable.banking.io.TransactionReportWriter;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsTransferProcessor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferPipelineTest {
+
+    private static final String A = "1111234522226789";
+    private static final String B = "1212343433335665";
+    private static final String C = "2222123433331212";
+
+    private static final String TRANSFERS = String.join("\n",
+        A + "," + B + ",500.00",
+        B + "," + C + ",0.5\r",
+        "",
+        A + "," + A + ",1",
+        A + "," + B + ",abc",
+        C + "," + A + ",100000",
+        "9999999999999999," + A + ",1",
+        " " + A + " , " + C + " , 12.34 \r",
+        A + "," + B);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("writes the same report, errors and balances as a sequential run for any block size")
+    void matchesSequentialRun() throws IOException {
+        Path balances = tempDir.resolve("balances.csv");
+        Files.writeString(balances, A + ",1000.00\n" + B + ",50.00\n" + C + ",0\n");
+        Path transfers = tempDir.resolve("transfers.csv");
+        Files.writeString(transfers, (TRANSFERS + "\r\n").repeat(20));
+
+        CentsLedger opening = new AccountCsvReader().loadLedger(balances).ledger();
+        CentsTransactionLoadResult loaded = new TransactionCsvReader().loadCents(transfers);
+        var expected = new CentsTransferProcessor().process(opening.copy(), loaded.transfers());
+        Path expectedReport = tempDir.resolve("expected.csv");
+        Path expectedErrors = tempDir.resolve("expected_errors.csv");
+        new TransactionReportWriter().write(expectedReport, expected.transactionResults());
+        new ErrorReportWriter().write(expectedErrors, loaded.errors());
+
+        // Blocks smaller than one line force the reader to grow them.
+        for (int blockSize : new int[]{8, 33, 64, 1 << 20}) {
+            Path report = tempDir.resolve("report-" + blockSize + ".csv");
+            Path errors = tempDir.resolve("errors-" + blockSize + ".csv");
+            TransferPipeline.Result result = run(new TransferPipeline(new CentsTransferProcessor(), blockSize, 1),
+                opening.copy(), transfers, report, errors);
+
+            assertArrayEquals(Files.readAllBytes(expectedReport), Files.readAllBytes(report), "block " + blockSize);
+            assertArrayEquals(Files.readAllBytes(expectedErrors), Files.readAllBytes(errors), "block " + blockSize);
+            assertEquals(expected.accounts(), ((CentsLedger) result.ledger()).toAccounts());
+            assertEquals(expected.statusCounts(), result.statusCounts());
+            assertEquals(loaded.transfers().size(), result.transfers());
+            assertEquals(loaded.errors().size(), result.errors());
+        }
+    }
+
+    @Test
+    @DisplayName("an empty transfer file gives a header-only report")
+    void emptyFile() throws IOException {
+        Path transfers = tempDir.resolve("transfers.csv");
+        Files.writeString(transfers, "");
+        Path report = tempDir.resolve("report.csv");
+
+        TransferPipeline.Result result = run(new TransferPipeline(new CentsTransferProcessor()),
+            new CentsLedger(1), transfers, report, tempDir.resolve("errors.csv"));
+
+        assertEquals(0, result.transfers());
+        assertEquals(new StatusCounts(), result.statusCounts());
+        assertEquals(1, Files.readAllLines(report).size());
+        assertFalse(Files.exists(tempDir.resolve("errors.csv")));
+    }
+
+    @Test
+    @DisplayName("a failing stage stops the others and its exception reaches the caller")
+    void stageFailureIsRethrown() throws IOException {
+        Path transfers = tempDir.resolve("transfers.csv");
+        Files.writeString(transfers, (A + "," + B + ",1.00\n").repeat(10_000));
+        TransferPipeline pipeline = new TransferPipeline(new CentsTransferProcessor(), 64, 1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (TransactionReportAppender report = new TransactionReportWriter().open(tempDir.resolve("report.csv"));
+                 ErrorReportAppender errors = new ErrorReportWriter().open(tempDir.resolve("errors.csv"))) {
+                ValidationException e = assertThrows(ValidationException.class, () -> pipeline.run(() -> {
+                    throw new ValidationException("bad balances");
+                }, transfers, report, errors));
+                assertEquals("bad balances", e.getMessage());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("a missing transfer file is rejected before any stage starts")
+    void missingFile() {
+        assertThrows(ValidationException.class, () -> run(new TransferPipeline(new CentsTransferProcessor()),
+            new CentsLedger(1), tempDir.resolve("missing.csv"), tempDir.resolve("report.csv"), tempDir.resolve("errors.csv")));
+    }
+
+    @Test
+    @DisplayName("status counts cover every applied transfer")
+    void countsStatuses() throws IOException {
+        Path transfers = tempDir.resolve("transfers.csv");
+        Files.writeString(transfers, A + "," + B + ",1\n" + A + "," + A + ",1\n" + A + "," + B + ",5\n");
+        CentsLedger opening = new CentsLedger(2);
+        opening.add(Long.parseLong(A), 300);
+        opening.add(Long.parseLong(B), 0);
+
+        TransferPipeline.Result result = run(new TransferPipeline(new CentsTransferProcessor()),
+            opening, transfers, tempDir.resolve("report.csv"), tempDir.resolve("errors.csv"));
+
+        assertEquals(1, result.statusCounts().get(TransactionStatus.APPLIED));
+        assertEquals(1, result.statusCounts().get(TransactionStatus.SAME_ACCOUNT));
+        assertEquals(1, result.statusCounts().get(TransactionStatus.INSUFFICIENT_BALANCE));
+        assertEquals(200, result.ledger().balance(result.ledger().indexOf(Long.parseLong(A))));
+    }
+
+    private static TransferPipeline.Result run(TransferPipeline pipeline, CentsLedger opening, Path transfers,
+                                               Path reportPath, Path errorsPath) throws IOException {
+        try (TransactionReportAppender report = new TransactionReportWriter().open(reportPath);
+             ErrorReportAppender errors = new ErrorReportWriter().open(errorsPath)) {
+            return pipeline.run(() -> opening, transfers, report, errors);
+        }
+    }
+}
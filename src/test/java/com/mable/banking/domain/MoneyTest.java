@@ -0,0 +1,58 @@
+package com.mable.banking.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Nested
+    @DisplayName("parseCents")
+    class ParseCents {
+
+        @Test
+        @DisplayName("parses plain decimals into cents")
+        void parsesPlainDecimals() {
+            assertEquals(50000, Money.parseCents("500.00"));
+            assertEquals(32050, Money.parseCents("320.5"));
+            assertEquals(100, Money.parseCents("1"));
+            assertEquals(100, Money.parseCents("1."));
+            assertEquals(50, Money.parseCents(".5"));
+            assertEquals(150, Money.parseCents("+1.500"));
+            assertEquals(-1, Money.parseCents("-0.01"));
+        }
+
+        @Test
+        @DisplayName("returns NOT_PLAIN for text that needs the BigDecimal route")
+        void notPlain() {
+            assertEquals(Money.NOT_PLAIN, Money.parseCents(""));
+            assertEquals(Money.NOT_PLAIN, Money.parseCents("."));
+            assertEquals(Money.NOT_PLAIN, Money.parseCents("abc"));
+            assertEquals(Money.NOT_PLAIN, Money.parseCents("1e2"));
+            assertEquals(Money.NOT_PLAIN, Money.parseCents("1.005"));
+            assertEquals(Money.NOT_PLAIN, Money.parseCents("99999999999999999999"));
+        }
+    }
+
+    @Test
+    @DisplayName("toCents is exact up to Long.MAX_VALUE cents and throws beyond it")
+    void toCentsRange() {
+        assertEquals(Long.MAX_VALUE, Money.toCents(new BigDecimal("92233720368547758.07")));
+        assertThrows(ArithmeticException.class, () -> Money.toCents(new BigDecimal("92233720368547758.08")));
+        assertThrows(ArithmeticException.class, () -> Money.toCents(new BigDecimal("100000000000000000000.00")));
+    }
+
+    @Test
+    @DisplayName("format matches BigDecimal toPlainString at scale 2")
+    void formatMatchesBigDecimal() {
+        for (String amount : new String[]{"0.00", "0.01", "0.10", "1.00", "320.50", "1200.00", "92233720368547758.07"}) {
+            long cents = Money.toCents(new BigDecimal(amount));
+            assertEquals(amount, Money.format(cents));
+        }
+        assertEquals("-5.25", Money.format(-525));
+    }
+}
@@ -115,6 +115,44 @@ class TransferTest {
         }
     }
 
+    @Nested
+    @DisplayName("Account ID parsing")
+    class AccountIdParsing {
+
+        @Test
+        @DisplayName("parseAccountId accepts and rejects exactly like validateAccountId")
+        void matchesValidateAccountId() {
+            String[] inputs = {FROM, "  " + FROM + "\t", "0000000000000000", "123", "abc", "", "   ", "\u2003",
+                "\u0001", FROM + "0", "111123452222678x", "١١١١٢٣٤٥٢٢٢٢٦٧٨٩", "1111 234522226789"};
+            for (String input : inputs) {
+                for (String field : new String[]{null, "from"}) {
+                    String expectedMessage = null;
+                    String expectedId = null;
+                    try {
+                        expectedId = Validator.validateAccountId(input, field);
+                    } catch (ValidationException e) {
+                        expectedMessage = e.getMessage();
+                    }
+
+                    if (expectedMessage == null) {
+                        assertEquals(Long.parseLong(expectedId), Validator.parseAccountId(input, 0, input.length(), field));
+                    } else {
+                        ValidationException e = assertThrows(ValidationException.class,
+                            () -> Validator.parseAccountId(input, 0, input.length(), field));
+                        assertEquals(expectedMessage, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("parseAccountId reads an ID from the middle of a line")
+        void parsesWithinLine() {
+            String line = FROM + "," + TO + ",1.00";
+            assertEquals(Long.parseLong(TO), Validator.parseAccountId(line, 17, 33, "to"));
+        }
+    }
+
     @Test
     @DisplayName("accepts same from and to account (processor assigns SAME_ACCOUNT status)")
     void acceptsSameFromAndTo() {
@@ -135,4 +135,72 @@ class AccountCsvReaderTest {
         assertTrue(result.accounts().isEmpty());
         assertFalse(result.hasErrors());
     }
+
+    @Test
+    @DisplayName("ledger load matches the map load for accounts and errors")
+    void ledgerLoadMatchesMapLoad() throws IOException {
+        Path file = tempDir.resolve("balances.csv");
+        Files.writeString(file, """
+            1111234522226789,5000.00
+
+            3334, 500.00
+            1111234522221234,1e3
+            2222123433331212,-1.00
+            1111234522226789,200.00
+            1212343433335665,abc
+            3212343433335755
+            0000000000000007,0.5
+            """);
+
+        BalanceLoadResult expected = new AccountCsvReader().load(file);
+        LedgerLoadResult actual = new AccountCsvReader().loadLedger(file);
+
+        assertEquals(expected.errors(), actual.errors());
+        assertEquals(expected.accounts(), actual.ledger().toAccounts());
+    }
+
+    @Test
+    @DisplayName("ledger load reports balances beyond the long cents range as parse errors")
+    void ledgerLoadRejectsOutOfRangeBalance() throws IOException {
+        Path file = tempDir.resolve("balances.csv");
+        Files.writeString(file, """
+            1111234522226789,92233720368547758.08
+            1212343433335665,92233720368547758.07
+            """);
+
+        LedgerLoadResult result = new AccountCsvReader().loadLedger(file);
+
+        assertEquals(1, result.ledger().size());
+        assertEquals(Long.MAX_VALUE, result.ledger().balance(0));
+        assertEquals(1, result.errors().size());
+        assertEquals("Balance out of range: 92233720368547758.08", result.errors().get(0).errorMessage());
+    }
+
+    @Test
+    @DisplayName("sorted index load reports the same errors and holds the same balances as the ledger load")
+    void sortedIndexLoadMatchesLedgerLoad() throws IOException {
+        Path file = tempDir.resolve("balances.csv");
+        Files.writeString(file, """
+            1111234522221234,10.00
+            1111234522226789,5000.00
+            1111234522226789,200.00
+            3334, 500.00
+            0000000000000007,0.5
+            2222123433331212,1.00
+            0000000000000007,9.00
+            """);
+
+        LedgerLoadResult expected = new AccountCsvReader().loadLedger(file);
+        SortedIndexLoadResult actual = new AccountCsvReader().loadSortedIndex(file);
+
+        assertEquals(expected.errors(), actual.errors());
+        assertEquals(expected.ledger().size(), actual.index().size());
+        for (int i = 1; i < actual.index().size(); i++) {
+            assertTrue(actual.index().accountId(i - 1) < actual.index().accountId(i));
+        }
+        for (int i = 0; i < expected.ledger().size(); i++) {
+            int index = actual.index().indexOf(expected.ledger().accountId(i));
+            assertEquals(expected.ledger().balance(i), actual.index().balance(index));
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogWriterTest {
+
+    private static final String FROM = "1111234522226789";
+    private static final String TO = "1212343433335665";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("writes every result in order at sample rate 1")
+    void writesEveryResult() throws IOException {
+        Path file = tempDir.resolve("audit/audit.csv");
+        try (AuditLogWriter audit = new AuditLogWriter(file, 1.0)) {
+            audit.record(new TransactionResult(FROM, TO, "500.00", TransactionStatus.APPLIED));
+            audit.record(new TransactionResult(TO, FROM, "1.00", TransactionStatus.INSUFFICIENT_BALANCE));
+        }
+        assertEquals(List.of(
+            "Sequence,From Account,To Account,Amount,Status",
+            "1," + FROM + "," + TO + ",500.00,APPLIED",
+            "2," + TO + "," + FROM + ",1.00,INSUFFICIENT_BALANCE"), Files.readAllLines(file));
+    }
+
+    @Test
+    @DisplayName("keeps one in 1/rate results and survives a full queue")
+    void samplesResults() throws IOException {
+        Path file = tempDir.resolve("audit.csv");
+        try (AuditLogWriter audit = new AuditLogWriter(file, 0.01)) {
+            for (int i = 0; i < 1_000_000; i++) {
+                audit.record(new TransactionResult(FROM, TO, "1.00", TransactionStatus.APPLIED));
+            }
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(10_001, lines.size());
+        assertTrue(lines.get(1).startsWith("100,"));
+        assertTrue(lines.get(10_000).startsWith("1000000,"));
+    }
+
+    @Test
+    @DisplayName("rejects sample rates outside (0, 1]")
+    void rejectsInvalidRate() {
+        assertThrows(ValidationException.class, () -> new AuditLogWriter(tempDir.resolve("a.csv"), 0));
+        assertThrows(ValidationException.class, () -> new AuditLogWriter(tempDir.resolve("a.csv"), 1.5));
+        assertThrows(ValidationException.class, () -> new AuditLogWriter(null, 1));
+    }
+}
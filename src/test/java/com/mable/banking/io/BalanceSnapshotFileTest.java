@@ -0,0 +1,155 @@
+package com.mable.banking.io;
+
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.service.CentsLedger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final BalanceSnapshotFile snapshots = new BalanceSnapshotFile();
+
+    @Test
+    @DisplayName("round-trips balances in ledger order with the transfer checksum")
+    void roundTrips() throws IOException {
+        CentsLedger ledger = new CentsLedger(10_000);
+        for (long i = 0; i < 10_000; i++) {
+            ledger.add(9_999_999_999_999_999L - i * 7919, i * 13);
+        }
+        Path file = tempDir.resolve("balances.snapshot");
+        snapshots.write(file, ledger, 42L);
+
+        BalanceSnapshot snapshot = snapshots.read(file);
+        assertEquals(List.of(42L), snapshot.history().transferFileKeys());
+        assertEquals(SnapshotHistory.UNKNOWN, snapshot.history().balancesChecksum());
+        assertEquals(ledger.size(), snapshot.ledger().size());
+        for (int i = 0; i < ledger.size(); i++) {
+            assertEquals(ledger.accountId(i), snapshot.ledger().accountId(i));
+            assertEquals(ledger.balance(i), snapshot.ledger().balance(i));
+        }
+        assertFalse(Files.exists(tempDir.resolve("balances.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("keeps the balance file checksum and every transfer file of the chain")
+    void roundTripsHistory() throws IOException {
+        CentsLedger ledger = new CentsLedger(1);
+        ledger.add(1111234522226789L, 500_000);
+        Path file = tempDir.resolve("balances.snapshot");
+        SnapshotHistory history = SnapshotHistory.startingFrom(99L).then(1L).then(2L).then(3L);
+        snapshots.write(file, ledger, history);
+
+        assertEquals(history, snapshots.read(file).history());
+        assertEquals(history, snapshots.readHistory(file));
+        assertTrue(history.includes(1L));
+        assertFalse(history.includes(4L));
+    }
+
+    @Test
+    @DisplayName("transfer files with the same bytes under different names get different keys")
+    void keysTransferFilesByNameAndContent() throws IOException {
+        Path monday = Files.write(tempDir.resolve("transfers-2026-10-12.csv"), new byte[0]);
+        Path tuesday = Files.write(tempDir.resolve("transfers-2026-10-13.csv"), new byte[0]);
+
+        assertEquals(snapshots.checksum(monday), snapshots.checksum(tuesday));
+        assertNotEquals(snapshots.transferFileKey(monday), snapshots.transferFileKey(tuesday));
+        assertEquals(snapshots.transferFileKey(monday), snapshots.transferFileKey(monday));
+
+        long before = snapshots.transferFileKey(tuesday);
+        Files.write(tuesday, "1111234522226789,1212343433335665,1.00\n".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(before, snapshots.transferFileKey(tuesday));
+    }
+
+    @Test
+    @DisplayName("history drops the oldest transfer file once full")
+    void historyRollsOver() {
+        SnapshotHistory history = SnapshotHistory.startingFrom(99L);
+        for (long i = 0; i <= SnapshotHistory.MAX_TRANSFER_FILES; i++) {
+            history = history.then(i);
+        }
+        assertEquals(SnapshotHistory.MAX_TRANSFER_FILES, history.transferFileKeys().size());
+        assertFalse(history.includes(0L));
+        assertTrue(history.includes(1L));
+        assertTrue(history.includes(SnapshotHistory.MAX_TRANSFER_FILES));
+        assertEquals(99L, history.balancesChecksum());
+    }
+
+    @Test
+    @DisplayName("reads version 1 snapshots with their single transfer checksum")
+    void readsVersionOne() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BalanceSnapshotFile.V1_HEADER_SIZE + BalanceSnapshotFile.ENTRY_SIZE
+            + BalanceSnapshotFile.TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(BalanceSnapshotFile.MAGIC).putInt(1).putInt(1).putLong(42L).putLong(1111234522226789L).putLong(500_000);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        Path file = Files.write(tempDir.resolve("balances.snapshot"), buffer.array());
+
+        BalanceSnapshot snapshot = snapshots.read(file);
+        assertEquals(SnapshotHistory.startingFrom(SnapshotHistory.UNKNOWN).then(42L), snapshot.history());
+        assertEquals(500_000, snapshot.ledger().balance(snapshot.ledger().indexOf(1111234522226789L)));
+    }
+
+    @Test
+    @DisplayName("rejects a snapshot whose bytes were altered")
+    void rejectsCorruptBytes() throws IOException {
+        CentsLedger ledger = new CentsLedger(2);
+        ledger.add(1111234522226789L, 500_000);
+        ledger.add(1212343433335665L, 120_000);
+        Path file = tempDir.resolve("balances.snapshot");
+        snapshots.write(file, ledger, 7L);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[BalanceSnapshotFile.HEADER_SIZE + 9] ^= 1;
+        Files.write(file, bytes);
+
+        BankingException e = assertThrows(BankingException.class, () -> snapshots.read(file));
+        assertTrue(e.getMessage().contains("checksum mismatch"));
+    }
+
+    @Test
+    @DisplayName("rejects truncated and foreign files")
+    void rejectsTruncatedAndForeignFiles() throws IOException {
+        CentsLedger ledger = new CentsLedger(1);
+        ledger.add(1111234522226789L, 500_000);
+        Path file = tempDir.resolve("balances.snapshot");
+        snapshots.write(file, ledger, 7L);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(BankingException.class, () -> snapshots.read(file));
+
+        Path csv = tempDir.resolve("balances.csv");
+        Files.writeString(csv, "1111234522226789,5000.00\n1212343433335665,1200.00\n");
+        assertThrows(BankingException.class, () -> snapshots.read(csv));
+    }
+
+    @Test
+    @DisplayName("checksum changes with file contents")
+    void checksumTracksContents() throws IOException {
+        Path a = tempDir.resolve("a.csv");
+        Path b = tempDir.resolve("b.csv");
+        Files.writeString(a, "1111234522226789,1212343433335665,500.00\n");
+        Files.writeString(b, "1111234522226789,1212343433335665,500.01\n");
+
+        assertEquals(snapshots.checksum(a), snapshots.checksum(a));
+        assertNotEquals(snapshots.checksum(a), snapshots.checksum(b));
+    }
+}
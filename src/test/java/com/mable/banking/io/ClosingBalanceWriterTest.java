@@ -0,0 +1,60 @@
+package com.mable.banking.io;
+
+import com.mable.banking.service.CentsLedger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClosingBalanceWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("writes balances in ledger order in the balance file layout")
+    void writesInLedgerOrder() throws IOException {
+        CentsLedger ledger = new CentsLedger(3);
+        ledger.add(3212343433335755L, 48_679_50);
+        ledger.add(1111234522226789L, 0);
+        ledger.add(42L, 5);
+        Path file = tempDir.resolve("closing.csv");
+
+        new ClosingBalanceWriter().write(file, ledger);
+
+        assertEquals(List.of("3212343433335755,48679.50", "1111234522226789,0.00", "0000000000000042,0.05"),
+            Files.readAllLines(file));
+    }
+
+    @Test
+    @DisplayName("cents and BigDecimal accounts produce identical bytes that load back unchanged")
+    void centsMatchesAccountsAndRoundTrips() throws IOException {
+        Random random = new Random(14);
+        CentsLedger ledger = new CentsLedger(20_000);
+        while (ledger.size() < 20_000) {
+            ledger.add(random.nextLong(10_000_000_000_000_000L), random.nextLong(100_000_000_000L));
+        }
+        Path fromLedger = tempDir.resolve("ledger.csv");
+        Path fromAccounts = tempDir.resolve("accounts.csv");
+
+        new ClosingBalanceWriter().write(fromLedger, ledger);
+        new ClosingBalanceWriter().write(fromAccounts, ledger.toAccounts());
+
+        assertArrayEquals(Files.readAllBytes(fromLedger), Files.readAllBytes(fromAccounts));
+        LedgerLoadResult reloaded = new AccountCsvReader().loadLedger(fromLedger);
+        assertFalse(reloaded.hasErrors());
+        assertEquals(ledger.size(), reloaded.ledger().size());
+        for (int i = 0; i < ledger.size(); i++) {
+            assertEquals(ledger.accountId(i), reloaded.ledger().accountId(i));
+            assertEquals(ledger.balance(i), reloaded.ledger().balance(i));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("round-trips results through memory-mapped column blocks")
+    void roundTrips() throws IOException {
+        Random random = new Random(15);
+        TransactionStatus[] statuses = TransactionStatus.values();
+        List<TransactionResult> results = new ArrayList<>();
+        for (int i = 0; i < 12_345; i++) {
+            results.add(new TransactionResult(AccountIds.format(random.nextLong(10_000_000_000_000_000L)),
+                AccountIds.format(random.nextLong(10_000_000_000_000_000L)),
+                Money.format(1 + random.nextLong(1_000_000_000L)), statuses[random.nextInt(statuses.length)]));
+        }
+        Path file = tempDir.resolve("report.bin");
+        new ColumnarReportWriter().write(file, results);
+
+        try (ColumnarReport report = ColumnarReport.open(file)) {
+            assertEquals(results.size(), report.rowCount());
+            for (int i = 0; i < results.size(); i++) {
+                TransactionResult expected = results.get(i);
+                assertEquals(expected.fromAccountId(), AccountIds.format(report.fromAccountId(i)));
+                assertEquals(expected.toAccountId(), AccountIds.format(report.toAccountId(i)));
+                assertEquals(expected.amountDisplay(), Money.format(report.amountCents(i)));
+                assertEquals(expected.status(), report.status(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("cents transfers and statuses produce the same file as their String results")
+    void centsOverloadMatchesStringResults() throws IOException {
+        Random random = new Random(16);
+        TransactionStatus[] values = TransactionStatus.values();
+        List<CentsTransfer> transfers = new ArrayList<>();
+        TransactionStatus[] statuses = new TransactionStatus[1_000];
+        List<TransactionResult> results = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            CentsTransfer transfer = new CentsTransfer(random.nextLong(10_000_000_000_000_000L),
+                random.nextLong(10_000_000_000_000_000L), 1 + random.nextLong(1_000_000_000L));
+            statuses[i] = values[random.nextInt(values.length)];
+            transfers.add(transfer);
+            results.add(new TransactionResult(AccountIds.format(transfer.fromAccountId()),
+                AccountIds.format(transfer.toAccountId()), Money.format(transfer.amountCents()), statuses[i]));
+        }
+        Path fromStrings = tempDir.resolve("strings.bin");
+        Path fromCents = tempDir.resolve("cents.bin");
+        new ColumnarReportWriter().write(fromStrings, results);
+        new ColumnarReportWriter().write(fromCents, transfers, statuses);
+
+        assertArrayEquals(Files.readAllBytes(fromStrings), Files.readAllBytes(fromCents));
+    }
+
+    @Test
+    @DisplayName("an empty result list produces a readable file with no rows")
+    void writesEmptyReport() throws IOException {
+        Path file = tempDir.resolve("empty.bin");
+        new ColumnarReportWriter().write(file, List.of());
+
+        try (ColumnarReport report = ColumnarReport.open(file)) {
+            assertEquals(0, report.rowCount());
+        }
+    }
+
+    @Test
+    @DisplayName("rejects files that are not columnar reports")
+    void rejectsForeignFiles() throws IOException {
+        Path file = tempDir.resolve("report.csv");
+        Files.writeString(file, "From Account,To Account,Amount,Status\n".repeat(4));
+
+        assertThrows(BankingException.class, () -> ColumnarReport.open(file));
+    }
+}
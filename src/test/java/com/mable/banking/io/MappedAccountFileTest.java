@@ -0,0 +1,163 @@
+package com.mable.banking.io;
+
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedAccountFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("committed balances and the transfer checksum are there when the file is reopened")
+    void reopensCommittedBalances() throws IOException {
+        Path path = tempDir.resolve("accounts.dat");
+        try (MappedAccountFile file = MappedAccountFile.create(path, 10_000)) {
+            for (long i = 0; i < 10_000; i++) {
+                assertEquals(i, file.add(9_999_999_999_999_999L - i * 7919, i * 13));
+            }
+            file.debit(1, 13);
+            file.credit(2, 100);
+            file.commit(42L);
+        }
+
+        try (MappedAccountFile file = MappedAccountFile.open(path)) {
+            assertEquals(10_000, file.size());
+            assertEquals(42L, file.transferFileKey());
+            for (int i = 0; i < 10_000; i++) {
+                int index = file.indexOf(9_999_999_999_999_999L - i * 7919L);
+                assertEquals(i, index);
+                assertEquals(i * 13L + (i == 1 ? -13 : i == 2 ? 100 : 0), file.balance(index));
+            }
+            assertEquals(-1, file.indexOf(42));
+        }
+    }
+
+    @Test
+    @DisplayName("rejects duplicate IDs and accounts beyond the capacity")
+    void rejectsDuplicatesAndOverflow() throws IOException {
+        try (MappedAccountFile file = MappedAccountFile.create(tempDir.resolve("accounts.dat"), 16)) {
+            for (int i = 0; i < 16; i++) {
+                file.add(1111234522220000L + i, 100);
+            }
+            assertEquals(-1, file.add(1111234522220000L, 200));
+            assertEquals(100, file.balance(0));
+            assertThrows(ValidationException.class, () -> file.add(1111234522229999L, 100));
+        }
+    }
+
+    @Test
+    @DisplayName("a run that never commits leaves the last committed balances and accounts")
+    void discardsUncommittedRun() throws IOException {
+        Path path = tempDir.resolve("accounts.dat");
+        try (MappedAccountFile file = MappedAccountFile.create(path, 4)) {
+            file.add(1111234522226789L, 500);
+            file.add(1212343433335665L, 0);
+            file.commit(1L);
+        }
+        try (MappedAccountFile file = MappedAccountFile.open(path)) {
+            file.debit(0, 200);
+            file.credit(1, 200);
+            assertEquals(300, file.balance(0));
+            file.add(1313454544446543L, 700);
+        }
+        assertFalse(Files.exists(MappedAccountFile.recordPath(path)));
+
+        try (MappedAccountFile file = MappedAccountFile.open(path)) {
+            assertEquals(2, file.size());
+            assertEquals(1L, file.transferFileKey());
+            assertEquals(500, file.balance(file.indexOf(1111234522226789L)));
+            assertEquals(0, file.balance(file.indexOf(1212343433335665L)));
+            assertEquals(-1, file.indexOf(1313454544446543L));
+            assertEquals(2, file.add(1313454544446543L, 900));
+        }
+    }
+
+    @Test
+    @DisplayName("the commit record holds only the touched balances and finishes an interrupted commit")
+    void replaysCommitRecord() throws IOException {
+        Path path = tempDir.resolve("accounts.dat");
+        try (MappedAccountFile file = MappedAccountFile.create(path, 10_000)) {
+            for (int i = 0; i < 10_000; i++) {
+                file.add(1_000_000_000_000_000L + i, 1_000);
+            }
+            file.commit(1L);
+        }
+        try (MappedAccountFile file = MappedAccountFile.open(path)) {
+            file.debit(10, 400);
+            file.credit(9_000, 400);
+            file.debit(10, 100);
+            file.credit(20, 100);
+            // Stop as if the process died right after the record reached the disk.
+            file.writeRecord(2L);
+        }
+        long recordSize = Files.size(MappedAccountFile.recordPath(path));
+        assertEquals(MappedAccountFile.RECORD_HEADER_SIZE + 3 * MappedAccountFile.RECORD_ENTRY_SIZE + Long.BYTES,
+            recordSize);
+
+        try (MappedAccountFile file = MappedAccountFile.open(path)) {
+            assertEquals(2L, file.transferFileKey());
+            assertEquals(500, file.balance(10));
+            assertEquals(1_400, file.balance(9_000));
+            assertEquals(1_100, file.balance(20));
+            assertEquals(1_000, file.balance(11));
+        }
+        assertFalse(Files.exists(MappedAccountFile.recordPath(path)));
+    }
+
+    @Test
+    @DisplayName("a file whose first build never committed is refused, and a torn commit record is ignored")
+    void refusesUnfinishedBuild() throws IOException {
+        Path building = tempDir.resolve("building.dat");
+        try (MappedAccountFile file = MappedAccountFile.create(building, 2)) {
+            file.add(1111234522226789L, 500);
+        }
+        BankingException e = assertThrows(BankingException.class, () -> MappedAccountFile.open(building));
+        assertTrue(e.getMessage().contains("never committed"), e.getMessage());
+
+        Path torn = tempDir.resolve("torn.dat");
+        try (MappedAccountFile file = MappedAccountFile.create(torn, 2)) {
+            file.add(1111234522226789L, 500);
+            file.commit(1L);
+        }
+        try (MappedAccountFile file = MappedAccountFile.open(torn)) {
+            file.debit(0, 200);
+            file.writeRecord(2L);
+        }
+        Path record = MappedAccountFile.recordPath(torn);
+        byte[] bytes = Files.readAllBytes(record);
+        Files.write(record, Arrays.copyOf(bytes, bytes.length - 1));
+        try (MappedAccountFile file = MappedAccountFile.open(torn)) {
+            assertEquals(500, file.balance(0));
+            assertEquals(1L, file.transferFileKey());
+        }
+    }
+
+    @Test
+    @DisplayName("rejects a file that is not an account file or was truncated")
+    void rejectsCorruptFile() throws IOException {
+        Path other = Files.write(tempDir.resolve("other.dat"), new byte[64]);
+        assertThrows(BankingException.class, () -> MappedAccountFile.open(other));
+
+        Path path = tempDir.resolve("accounts.dat");
+        try (MappedAccountFile file = MappedAccountFile.create(path, 4)) {
+            file.add(1111234522226789L, 500);
+            file.commit(0L);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 4));
+        BankingException e = assertThrows(BankingException.class, () -> MappedAccountFile.open(path));
+        assertTrue(e.getMessage().startsWith("Corrupt account file"), e.getMessage());
+    }
+}
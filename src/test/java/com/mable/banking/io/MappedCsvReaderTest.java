@@ -0,0 +1,135 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.exception.ValidationException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    private static final String FROM = "1111234522226789";
+    private static final String TO = "1212343433335665";
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Transfer file")
+    class TransferFile {
+
+        private static final String TRANSFERS = String.join("\n",
+            FROM + "," + TO + ",500.00",
+            " " + FROM + " , " + TO + " , 0.5 \r",
+            "",
+            "   ",
+            FROM + "," + TO + ",1e2",
+            FROM + "," + TO + ",abc",
+            FROM + "," + TO + ",-5",
+            "123," + TO + ",1.005",
+            FROM + "," + TO + ",1,2",
+            FROM + "," + TO + ",100000000000000000000.00",
+            FROM + "," + TO,
+            FROM + "," + TO + ",7.000\r" + FROM + ",١" + TO.substring(1) + ",1",
+            FROM + "," + TO + ",0.01");
+
+        @Test
+        @DisplayName("matches the String reader for transfers, errors and line numbers")
+        void matchesStringReader() throws IOException {
+            Path file = tempDir.resolve("transfers.csv");
+            Files.writeString(file, TRANSFERS);
+
+            CentsTransactionLoadResult expected = new TransactionCsvReader().loadCents(file);
+            CentsTransactionLoadResult actual = new MappedCsvReader().loadCents(file);
+
+            assertEquals(expected.transfers(), actual.transfers());
+            assertEquals(expected.errors(), actual.errors());
+            assertEquals(List.of(50000L, 50L, 10000L, 700L, 1L),
+                actual.transfers().stream().map(CentsTransfer::amountCents).toList());
+        }
+
+        @Test
+        @DisplayName("lines cut by a window edge are re-read whole")
+        void smallWindows() throws IOException {
+            Path file = tempDir.resolve("transfers.csv");
+            Files.writeString(file, TRANSFERS + "\r\n" + TRANSFERS + "\n");
+
+            CentsTransactionLoadResult expected = new TransactionCsvReader().loadCents(file);
+            for (int window = 60; window < 90; window++) {
+                CentsTransactionLoadResult actual = new MappedCsvReader(window, 1).loadCents(file);
+                assertEquals(expected.transfers(), actual.transfers());
+                assertEquals(expected.errors(), actual.errors());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("parallel chunked load matches the sequential load in order and line numbers")
+    void parallelLoadMatchesSequential() throws IOException {
+        Path file = tempDir.resolve("transfers.csv");
+        String content = (TransferFile.TRANSFERS + "\r\n").repeat(40);
+        Files.writeString(file, content);
+
+        CentsTransactionLoadResult expected = new TransactionCsvReader().loadCents(file);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long chunkSize : new long[]{1, 7, 100, 1000, 1 << 20}) {
+                CentsTransactionLoadResult actual = new MappedCsvReader(1 << 28, chunkSize).loadCentsParallel(file, pool);
+                assertEquals(expected.transfers(), actual.transfers());
+                assertEquals(expected.errors(), actual.errors());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("balance ledger matches the String reader including duplicates")
+    void balanceLedgerMatchesStringReader() throws IOException {
+        Path file = tempDir.resolve("balances.csv");
+        Files.writeString(file, """
+            1111234522226789,5000.00
+
+            3334, 500.00
+            1111234522221234,1e3
+            2222123433331212,-1.00
+            1111234522226789,200.00
+            1212343433335665,abc
+            3212343433335755
+            3212343433335756,92233720368547758.08
+            0000000000000007, 0.5
+            """);
+
+        LedgerLoadResult expected = new AccountCsvReader().loadLedger(file);
+        LedgerLoadResult actual = new MappedCsvReader().loadLedger(file);
+
+        assertEquals(expected.errors(), actual.errors());
+        assertEquals(expected.ledger().toAccounts(), actual.ledger().toAccounts());
+    }
+
+    @Test
+    @DisplayName("empty file produces nothing")
+    void emptyFile() throws IOException {
+        Path file = tempDir.resolve("empty.csv");
+        Files.writeString(file, "");
+        assertTrue(new MappedCsvReader().loadCents(file).transfers().isEmpty());
+        assertTrue(new MappedCsvReader().loadLedger(file).ledger().isEmpty());
+    }
+
+    @Test
+    @DisplayName("throws when path is null or not a file")
+    void invalidPath() {
+        assertThrows(ValidationException.class, () -> new MappedCsvReader().loadCents(null));
+        assertThrows(ValidationException.class, () -> new MappedCsvReader().loadLedger(tempDir.resolve("missing.csv")));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mable.banking.io;
 
+import com.mable.banking.domain.LineError;
 import com.mable.banking.domain.Transfer;
 import com.mable.banking.exception.ValidationException;
 
@@ -12,6 +13,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -89,6 +91,59 @@ class TransactionCsvReaderTest {
         }
     }
 
+    @Test
+    @DisplayName("read streams transfers and errors with file line numbers")
+    void readStreamsWithLineNumbers() throws IOException {
+        Path file = tempDir.resolve("transfers.csv");
+        Files.writeString(file, FROM + "," + TO + ",100.00\n\nbad\n3212343433335755,2222123433331212,200.00\n");
+        List<Transfer> transfers = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+
+        long count = new TransactionCsvReader().read(file, transfers::add, errors::add);
+
+        assertEquals(2, count);
+        assertEquals(2, transfers.size());
+        assertEquals(1, errors.size());
+        assertEquals(3, errors.get(0).lineNumber());
+    }
+
+    @Test
+    @DisplayName("cents load reports the same errors as the BigDecimal load")
+    void centsLoadMatchesBigDecimalLoad() throws IOException {
+        Path file = tempDir.resolve("transfers.csv");
+        Files.writeString(file, String.join("\n",
+            FROM + "," + TO + ",500.00",
+            FROM + "," + TO + ", 1e2 ",
+            FROM + "," + TO + ",abc",
+            FROM + "," + TO + ",-5",
+            "123," + TO + ",1.005",
+            FROM + "," + TO + ",0.5",
+            FROM + "," + TO) + "\n");
+
+        TransactionLoadResult expected = new TransactionCsvReader().load(file);
+        CentsTransactionLoadResult actual = new TransactionCsvReader().loadCents(file);
+
+        assertEquals(expected.errors(), actual.errors());
+        assertEquals(List.of(50000L, 10000L, 50L), actual.transfers().stream().map(t -> t.amountCents()).toList());
+        assertEquals(Long.parseLong(FROM), actual.transfers().get(0).fromAccountId());
+    }
+
+    @Test
+    @DisplayName("cents load reports amounts beyond the long cents range as parse errors")
+    void centsLoadRejectsOutOfRangeAmount() throws IOException {
+        Path file = tempDir.resolve("transfers.csv");
+        Files.writeString(file, String.join("\n",
+            FROM + "," + TO + ",100000000000000000000.00",
+            FROM + "," + TO + ",92233720368547758.07") + "\n");
+
+        CentsTransactionLoadResult result = new TransactionCsvReader().loadCents(file);
+
+        assertEquals(List.of(Long.MAX_VALUE), result.transfers().stream().map(t -> t.amountCents()).toList());
+        assertEquals(1, result.errors().size());
+        assertEquals(1, result.errors().get(0).lineNumber());
+        assertEquals("Transfer amount out of range: 100000000000000000000.00", result.errors().get(0).errorMessage());
+    }
+
     @Test
     @DisplayName("throws when path is null or not a file")
     void invalidPath() {
@@ -0,0 +1,85 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.TransactionResult;
+import com.mable.banking.domain.TransactionStatus;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionReportWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("writes the same bytes as the line-based format across many buffer flushes")
+    void matchesLineFormat() throws IOException {
+        Random random = new Random(11);
+        TransactionStatus[] statuses = TransactionStatus.values();
+        List<TransactionResult> results = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            CentsTransfer transfer = new CentsTransfer(random.nextLong(10_000_000_000_000_000L),
+                random.nextLong(10_000_000_000_000_000L), random.nextLong(1_000_000_000_000L));
+            results.add(new TransactionResult(AccountIds.format(transfer.fromAccountId()),
+                AccountIds.format(transfer.toAccountId()), Money.format(transfer.amountCents()),
+                statuses[random.nextInt(statuses.length)]));
+        }
+        Path file = tempDir.resolve("report.csv");
+        new TransactionReportWriter().write(file, results);
+
+        assertArrayEquals(expected(results), Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("cents rows encode identically to their String-based results")
+    void centsRowsMatchResults() throws IOException {
+        List<TransactionResult> results = new ArrayList<>();
+        Path file = tempDir.resolve("cents.csv");
+        try (TransactionReportAppender appender = new TransactionReportWriter().open(file)) {
+            long[] amounts = {0, 1, 9, 10, 99, 100, 105, 123_456, Long.MAX_VALUE, -250};
+            for (long cents : amounts) {
+                CentsTransfer transfer = new CentsTransfer(1L, 9_999_999_999_999_999L, cents);
+                appender.append(transfer, TransactionStatus.APPLIED);
+                results.add(new TransactionResult("0000000000000001", "9999999999999999",
+                    Money.format(cents), TransactionStatus.APPLIED));
+            }
+            assertEquals(amounts.length, appender.rowCount());
+        }
+        assertArrayEquals(expected(results), Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("non-ASCII and oversized fields are written as UTF-8")
+    void encodesUtf8() throws IOException {
+        List<TransactionResult> results = List.of(
+            new TransactionResult("ünknown", "to", "1.00", TransactionStatus.UNKNOWN_FROM_ACCOUNT),
+            new TransactionResult("x".repeat(100_000), "€", "2.00", TransactionStatus.SAME_ACCOUNT));
+        Path file = tempDir.resolve("utf8.csv");
+        new TransactionReportWriter().write(file, results);
+
+        assertArrayEquals(expected(results), Files.readAllBytes(file));
+    }
+
+    private static byte[] expected(List<TransactionResult> results) {
+        StringBuilder sb = new StringBuilder(TransactionReportWriter.HEADER).append(System.lineSeparator());
+        for (TransactionResult r : results) {
+            sb.append(String.format("%s,%s,%s,%s", r.fromAccountId(), r.toAccountId(), r.amountDisplay(), r.status()))
+                .append(System.lineSeparator());
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
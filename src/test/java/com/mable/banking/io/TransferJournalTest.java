@@ -0,0 +1,115 @@
+package com.mable.banking.io;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.exception.ValidationException;
+import com.mable.banking.service.CentsLedger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferJournalTest {
+
+    private static final long A = 1111234522226789L;
+    private static final long B = 1212343433335665L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("a new journal starts at the first transfer with a fresh report")
+    void startsFresh() throws IOException {
+        try (TransferJournal journal = TransferJournal.open(tempDir, opening(), 7L)) {
+            assertEquals(0, journal.resumeFrom());
+            assertEquals(0, journal.reportOffset());
+            assertEquals(100_00, balance(journal.ledger(), A));
+        }
+    }
+
+    @Test
+    @DisplayName("reopening replays committed transfers and drops the uncommitted tail")
+    void recoversCommittedState() throws IOException {
+        try (TransferJournal journal = TransferJournal.open(tempDir, opening(), 7L)) {
+            apply(journal, 0, new CentsTransfer(A, B, 10_00));
+            apply(journal, 1, new CentsTransfer(B, A, 2_50));
+            journal.commit(3, 123);
+            apply(journal, 3, new CentsTransfer(A, B, 50_00));
+            journal.commit(4, 150);
+            apply(journal, 4, new CentsTransfer(A, B, 1_00));
+        }
+        Path segment = tempDir.resolve("journal-0.log");
+        Files.write(segment, new byte[TransferJournal.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        try (TransferJournal journal = TransferJournal.open(tempDir, opening(), 7L)) {
+            assertEquals(4, journal.resumeFrom());
+            assertEquals(150, journal.reportOffset());
+            assertEquals(100_00 - 10_00 + 2_50 - 50_00, balance(journal.ledger(), A));
+            assertEquals(200_00 + 10_00 - 2_50 + 50_00, balance(journal.ledger(), B));
+        }
+        assertEquals(4L * TransferJournal.RECORD_SIZE + 2L * TransferJournal.RECORD_SIZE, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("recovery starts from the latest checkpoint and the old segment is removed")
+    void recoversFromCheckpoint() throws IOException {
+        try (TransferJournal journal = TransferJournal.open(tempDir, opening(), 7L)) {
+            apply(journal, 0, new CentsTransfer(A, B, 10_00));
+            journal.checkpoint(1, 80);
+            apply(journal, 1, new CentsTransfer(A, B, 5_00));
+            journal.commit(2, 120);
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+        assertFalse(Files.exists(tempDir.resolve("journal-0.log")));
+
+        try (TransferJournal journal = TransferJournal.open(tempDir, opening(), 7L)) {
+            assertEquals(2, journal.resumeFrom());
+            assertEquals(120, journal.reportOffset());
+            assertEquals(85_00, balance(journal.ledger(), A));
+            journal.complete();
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("a journal for another transfer file or opening ledger is rejected")
+    void rejectsDifferentInputs() throws IOException {
+        try (TransferJournal journal = TransferJournal.open(tempDir, opening(), 7L)) {
+            journal.commit(0, 0);
+        }
+        assertThrows(ValidationException.class, () -> TransferJournal.open(tempDir, opening(), 8L));
+
+        CentsLedger other = opening();
+        other.credit(0, 1);
+        assertThrows(ValidationException.class, () -> TransferJournal.open(tempDir, other, 7L));
+    }
+
+    private static CentsLedger opening() {
+        CentsLedger ledger = new CentsLedger(2);
+        ledger.add(A, 100_00);
+        ledger.add(B, 200_00);
+        return ledger;
+    }
+
+    private static void apply(TransferJournal journal, long sequence, CentsTransfer transfer) throws IOException {
+        CentsLedger ledger = journal.ledger();
+        ledger.debit(ledger.indexOf(transfer.fromAccountId()), transfer.amountCents());
+        ledger.credit(ledger.indexOf(transfer.toAccountId()), transfer.amountCents());
+        journal.recordApplied(sequence, transfer);
+    }
+
+    private static long balance(CentsLedger ledger, long accountId) {
+        return ledger.balance(ledger.indexOf(accountId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.mable.banking.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("every value falls inside its bucket and buckets are contiguous")
+    void bucketsCoverValues() {
+        long previousUpper = -1;
+        for (int index = 0; index < 2000; index++) {
+            long upper = LatencyHistogram.upperBound(index);
+            assertEquals(index, LatencyHistogram.indexOf(previousUpper + 1));
+            assertEquals(index, LatencyHistogram.indexOf(upper));
+            previousUpper = upper;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("percentiles are within bucket precision of the exact values")
+    void percentilesAreAccurate() {
+        Random random = new Random(17);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 16);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            long reported = histogram.percentile(percentile);
+            assertTrue(reported >= exact, percentile + "%: " + reported + " < " + exact);
+            assertTrue(reported <= exact + Math.max(1, exact / 60), percentile + "%: " + reported + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.percentile(100));
+        assertEquals(values[0], histogram.min());
+        assertEquals(values.length, histogram.count());
+    }
+
+    @Test
+    @DisplayName("merging histograms equals recording into one")
+    void addMerges() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        LatencyHistogram both = new LatencyHistogram();
+        for (long v = 1; v < 1_000_000; v *= 3) {
+            a.record(v);
+            b.record(v * 7);
+            both.record(v);
+            both.record(v * 7);
+        }
+        a.add(b);
+
+        assertEquals(both.count(), a.count());
+        assertEquals(both.sum(), a.sum());
+        assertEquals(both.max(), a.max());
+        assertEquals(both.percentile(50), a.percentile(50));
+    }
+
+    @Test
+    @DisplayName("an empty histogram reports zeros")
+    void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.min());
+        assertEquals(0, histogram.mean());
+    }
+}
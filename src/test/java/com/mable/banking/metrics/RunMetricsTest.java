@@ -0,0 +1,66 @@
+package com.mable.banking.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunMetricsTest {
+
+    @Test
+    @DisplayName("phases are recorded in order with throughput")
+    void recordsPhases() {
+        RunMetrics metrics = new RunMetrics();
+        metrics.start(RunMetrics.LOAD_BALANCES).stop(10, 250);
+        metrics.start(RunMetrics.PROCESS).stop(1000, 0);
+
+        assertEquals(2, metrics.phases().size());
+        RunMetrics.Phase load = metrics.phases().get(0);
+        assertEquals(RunMetrics.LOAD_BALANCES, load.name());
+        assertEquals(250, load.bytesRead());
+        assertTrue(load.nanos() >= 0);
+        assertEquals(RunMetrics.PROCESS, metrics.phases().get(1).name());
+    }
+
+    @Test
+    @DisplayName("JSON export lists phases and latency percentiles")
+    void exportsJson() {
+        RunMetrics metrics = new RunMetrics();
+        metrics.start(RunMetrics.LOAD_TRANSFERS).stop(3, 120);
+        metrics.applyLatencies().record(150);
+        metrics.applyLatencies().record(250);
+
+        String json = metrics.toJson();
+        assertTrue(json.contains("{\"name\": \"load-transfers\""), json);
+        assertTrue(json.contains("\"items\": 3"), json);
+        assertTrue(json.contains("\"bytesRead\": 120"), json);
+        assertTrue(json.contains("\"applyLatencyNanos\": {\"count\": 2, \"min\": 150, \"mean\": 200, \"max\": 250"), json);
+        assertTrue(json.contains("\"p99.9\": 250"), json);
+    }
+
+    @Test
+    @DisplayName("Prometheus export uses one sample per phase and a latency summary")
+    void exportsPrometheus() {
+        RunMetrics metrics = new RunMetrics();
+        metrics.start(RunMetrics.WRITE_REPORT).stop(5, 0);
+        metrics.applyLatencies().record(1_000);
+
+        String text = metrics.toPrometheus();
+        assertTrue(text.contains("# TYPE banking_phase_seconds gauge\n"), text);
+        assertTrue(text.contains("banking_phase_items{phase=\"write-report\"} 5\n"), text);
+        assertTrue(text.contains("banking_apply_latency_seconds{quantile=\"0.99\"} 1e-06\n"), text);
+        assertTrue(text.contains("banking_apply_latency_seconds_count 1\n"), text);
+    }
+
+    @Test
+    @DisplayName("large values keep their integer zeros and fractions lose only trailing zeros")
+    void formatsLargeValues() {
+        RunMetrics metrics = new RunMetrics();
+        metrics.applyLatencies().record(100_000_000);
+        metrics.applyLatencies().record(100_000_000);
+
+        String json = metrics.toJson();
+        assertTrue(json.contains("\"mean\": 100000000,"), json);
+        assertTrue(metrics.toPrometheus().contains("banking_apply_latency_seconds_sum 0.2\n"), metrics.toPrometheus());
+    }
+}
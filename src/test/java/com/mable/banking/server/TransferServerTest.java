@@ -0,0 +1,134 @@
+package com.mable.banking.server;
+
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.ConcurrentLedger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferServerTest {
+
+    private static final String ACC_A = "1111234522226789";
+    private static final String ACC_B = "1212343433335665";
+    private static final String ACC_C = "3212343433335755";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private TransferServer server;
+    private String base;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CentsLedger accounts = new CentsLedger(3);
+        accounts.add(Long.parseLong(ACC_A), 5000_00);
+        accounts.add(Long.parseLong(ACC_B), 1200_00);
+        accounts.add(Long.parseLong(ACC_C), 0);
+        server = new TransferServer(new ConcurrentLedger(accounts),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4);
+        server.start();
+        base = "http://127.0.0.1:" + server.address().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("a posted transfer is applied and reported like a report row")
+    void postsTransfer() throws Exception {
+        HttpResponse<String> response = post("/transfers", ACC_A + "," + ACC_B + ",500.00");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(ACC_A + "," + ACC_B + ",500.00,APPLIED\n", response.body());
+        assertEquals("4500.00\n", get("/accounts/" + ACC_A).body());
+        assertEquals("1700.00\n", get("/accounts/" + ACC_B).body());
+    }
+
+    @Test
+    @DisplayName("business outcomes follow the batch rules")
+    void reportsStatuses() throws Exception {
+        assertEquals(ACC_C + "," + ACC_A + ",1.00,INSUFFICIENT_BALANCE\n", post("/transfers", ACC_C + "," + ACC_A + ",1.00").body());
+        assertEquals(ACC_A + "," + ACC_A + ",1.00,SAME_ACCOUNT\n", post("/transfers", ACC_A + "," + ACC_A + ",1.00").body());
+        assertEquals("9999999999999999," + ACC_A + ",1.00,UNKNOWN_FROM_ACCOUNT\n",
+            post("/transfers", "9999999999999999," + ACC_A + ",1.00").body());
+    }
+
+    @Test
+    @DisplayName("a batch is applied in order and returns one row per transfer")
+    void postsBatch() throws Exception {
+        HttpResponse<String> response = post("/transfers/batch",
+            ACC_A + "," + ACC_C + ",100.00\n" + ACC_C + "," + ACC_B + ",60.00\n" + ACC_C + "," + ACC_B + ",60.00\n");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(ACC_A + "," + ACC_C + ",100.00,APPLIED\n"
+            + ACC_C + "," + ACC_B + ",60.00,APPLIED\n"
+            + ACC_C + "," + ACC_B + ",60.00,INSUFFICIENT_BALANCE\n", response.body());
+        assertEquals("40.00\n", get("/accounts/" + ACC_C).body());
+    }
+
+    @Test
+    @DisplayName("a batch with an invalid line is rejected without applying anything")
+    void rejectsInvalidBatch() throws Exception {
+        HttpResponse<String> response = post("/transfers/batch", ACC_A + "," + ACC_B + ",100.00\n" + ACC_A + ",123,5.00\n");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().startsWith("2: "), response.body());
+        assertEquals("5000.00\n", get("/accounts/" + ACC_A).body());
+    }
+
+    @Test
+    @DisplayName("balance lookups distinguish invalid and unknown accounts")
+    void balanceErrors() throws Exception {
+        assertEquals(400, get("/accounts/12").statusCode());
+        assertEquals(404, get("/accounts/9999999999999999").statusCode());
+        assertEquals(405, post("/accounts/" + ACC_A, "").statusCode());
+        assertEquals(400, post("/transfers", ACC_A + "," + ACC_B + ",1.00\n" + ACC_A + "," + ACC_B + ",1.00").statusCode());
+    }
+
+    @Test
+    @DisplayName("concurrent clients never lose or create money")
+    void concurrentClientsConserveBalance() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        String[] accounts = {ACC_A, ACC_B, ACC_C};
+        for (int i = 0; i < 600; i++) {
+            String body = accounts[i % 3] + "," + accounts[(i + 1) % 3] + ",7.00";
+            responses.add(client.sendAsync(request("/transfers").POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+        }
+
+        long total = 0;
+        for (String account : accounts) {
+            total += Math.round(Double.parseDouble(get("/accounts/" + account).body().trim()) * 100);
+        }
+        assertEquals(6200_00, total);
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(base + path));
+    }
+}
@@ -0,0 +1,79 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentsLedgerTest {
+
+    @Test
+    @DisplayName("finds every account after growing past the initial capacity")
+    void growsAndFindsAccounts() {
+        CentsLedger ledger = new CentsLedger(1);
+        for (long id = 0; id < 10_000; id++) {
+            assertEquals(id, ledger.add(1_000_000_000_000_000L + id * 7919, id));
+        }
+        assertEquals(10_000, ledger.size());
+        for (long id = 0; id < 10_000; id++) {
+            int i = ledger.indexOf(1_000_000_000_000_000L + id * 7919);
+            assertEquals(id, i);
+            assertEquals(id, ledger.balance(i));
+        }
+        assertEquals(-1, ledger.indexOf(42));
+    }
+
+    @Test
+    @DisplayName("rejects duplicate IDs and keeps the first balance")
+    void rejectsDuplicates() {
+        CentsLedger ledger = new CentsLedger(4);
+        assertEquals(0, ledger.add(1111234522226789L, 100));
+        assertEquals(-1, ledger.add(1111234522226789L, 200));
+        assertEquals(1, ledger.size());
+        assertEquals(100, ledger.balance(0));
+    }
+
+    @Test
+    @DisplayName("keeps insertion order when converting back to accounts")
+    void keepsInsertionOrder() {
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        for (String id : new String[]{"3212343433335755", "0000000000000001", "1111234522226789"}) {
+            accounts.put(id, new Account(id, new BigDecimal("10.50")));
+        }
+        Map<String, Account> roundTrip = CentsLedger.of(accounts).toAccounts();
+        assertEquals(new ArrayList<>(accounts.keySet()), List.copyOf(roundTrip.keySet()));
+        assertEquals(new BigDecimal("10.50"), roundTrip.get("0000000000000001").getBalance());
+    }
+
+    @Test
+    @DisplayName("copy is independent of the source ledger")
+    void copyIsIndependent() {
+        CentsLedger ledger = new CentsLedger(4);
+        ledger.add(1, 500);
+        CentsLedger copy = ledger.copy();
+        copy.debit(0, 200);
+        copy.add(2, 0);
+        assertEquals(500, ledger.balance(0));
+        assertEquals(-1, ledger.indexOf(2));
+        assertEquals(300, copy.balance(0));
+    }
+
+    @Test
+    @DisplayName("debit and credit enforce the AccountService rules")
+    void debitCreditRules() {
+        CentsLedger ledger = new CentsLedger(4);
+        ledger.add(1, 100);
+        assertThrows(ValidationException.class, () -> ledger.debit(0, 101));
+        assertThrows(ValidationException.class, () -> ledger.credit(0, 0));
+        ledger.add(2, Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> ledger.credit(1, 1));
+    }
+}
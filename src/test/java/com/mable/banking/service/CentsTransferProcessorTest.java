@@ -0,0 +1,126 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.Account;
+import com.mable.banking.domain.AccountIds;
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.Money;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.domain.Transfer;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentsTransferProcessorTest {
+
+    private static final String ACC_A = "1111234522226789";
+    private static final String ACC_B = "1212343433335665";
+    private static final String ACC_C = "3212343433335755";
+    private static final String UNKNOWN = "9999999999999999";
+
+    private Map<String, Account> accounts;
+    private final CentsTransferProcessor processor = new CentsTransferProcessor();
+
+    @BeforeEach
+    void setUp() {
+        accounts = new LinkedHashMap<>();
+        accounts.put(ACC_A, new Account(ACC_A, new BigDecimal("5000.00")));
+        accounts.put(ACC_B, new Account(ACC_B, new BigDecimal("1200.00")));
+        accounts.put(ACC_C, new Account(ACC_C, new BigDecimal("50000.00")));
+    }
+
+    @Test
+    @DisplayName("applies transfers and reports statuses like the BigDecimal engine")
+    void appliesTransfers() {
+        long a = AccountIds.toLong(ACC_A);
+        long b = AccountIds.toLong(ACC_B);
+        long unknown = AccountIds.toLong(UNKNOWN);
+        ProcessResult result = processor.process(accounts, List.of(
+            new CentsTransfer(a, b, 50000),
+            new CentsTransfer(b, a, 170001),
+            new CentsTransfer(a, a, 100),
+            new CentsTransfer(unknown, a, 100),
+            new CentsTransfer(a, unknown, 100)));
+
+        assertEquals(List.of(TransactionStatus.APPLIED, TransactionStatus.INSUFFICIENT_BALANCE,
+                TransactionStatus.SAME_ACCOUNT, TransactionStatus.UNKNOWN_FROM_ACCOUNT, TransactionStatus.UNKNOWN_TO_ACCOUNT),
+            result.transactionResults().stream().map(r -> r.status()).toList());
+        assertEquals("500.00", result.transactionResults().get(0).amountDisplay());
+        assertEquals(new BigDecimal("4500.00"), result.accounts().get(ACC_A).getBalance());
+        assertEquals(new BigDecimal("1700.00"), result.accounts().get(ACC_B).getBalance());
+        assertEquals(new BigDecimal("5000.00"), accounts.get(ACC_A).getBalance());
+    }
+
+    @Test
+    @DisplayName("random workload matches the BigDecimal engine result for result")
+    void matchesBigDecimalEngine() {
+        Random random = new Random(42);
+        String[] ids = {ACC_A, ACC_B, ACC_C, UNKNOWN};
+        List<Transfer> transfers = new ArrayList<>();
+        List<CentsTransfer> centsTransfers = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String from = ids[random.nextInt(ids.length)];
+            String to = ids[random.nextInt(ids.length)];
+            long cents = 1 + random.nextInt(300_000);
+            transfers.add(new Transfer(from, to, Money.toBigDecimal(cents)));
+            centsTransfers.add(new CentsTransfer(AccountIds.toLong(from), AccountIds.toLong(to), cents));
+        }
+
+        ProcessResult expected = new TransferProcessor(new AccountService()).process(accounts, transfers);
+        ProcessResult actual = processor.process(accounts, centsTransfers);
+
+        assertEquals(expected.transactionResults(), actual.transactionResults());
+        assertEquals(expected.accounts(), actual.accounts());
+        assertEquals(expected.statusCounts(), actual.statusCounts());
+    }
+
+    @Test
+    @DisplayName("cents result keeps the closing ledger and statuses the String result is built from")
+    void centsResultMatchesProcessResult() {
+        long a = AccountIds.toLong(ACC_A);
+        long b = AccountIds.toLong(ACC_B);
+        CentsLedger opening = CentsLedger.of(accounts);
+        List<CentsTransfer> transfers = List.of(new CentsTransfer(a, b, 50000), new CentsTransfer(b, a, 170001));
+
+        CentsProcessResult result = processor.processCents(opening, transfers);
+
+        assertArrayEquals(new TransactionStatus[]{TransactionStatus.APPLIED, TransactionStatus.INSUFFICIENT_BALANCE},
+            result.statuses());
+        assertEquals(450000, result.ledger().balance(result.ledger().indexOf(a)));
+        assertEquals(500000, opening.balance(opening.indexOf(a)));
+        assertEquals(processor.process(opening, transfers), result.toProcessResult(transfers));
+    }
+
+    @Test
+    @DisplayName("a credit past the long cents range fails before either balance changes")
+    void creditOverflowLeavesLedgerUntouched() {
+        long a = AccountIds.toLong(ACC_A);
+        long b = AccountIds.toLong(ACC_B);
+        CentsLedger ledger = new CentsLedger(2);
+        ledger.add(a, 9_000_000_000_000_000_000L);
+        ledger.add(b, 9_000_000_000_000_000_000L);
+
+        assertThrows(BankingException.class, () -> CentsTransferProcessor.applyResolved(ledger, 0, 1, 9_000_000_000_000_000_000L));
+        assertEquals(9_000_000_000_000_000_000L, ledger.balance(0));
+        assertEquals(9_000_000_000_000_000_000L, ledger.balance(1));
+        assertEquals(TransactionStatus.APPLIED, CentsTransferProcessor.applyResolved(ledger, 1, 0, 1));
+    }
+
+    @Test
+    @DisplayName("throws when accounts empty or transfers null")
+    void invalidInput() {
+        assertThrows(ValidationException.class, () -> processor.process(Map.of(), List.of()));
+        assertThrows(ValidationException.class, () -> processor.process(accounts, null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLedgerTest {
+
+    private static final long BASE_ID = 1_000_000_000_000_000L;
+
+    private static CentsLedger ledger(int accounts, long balanceCents) {
+        CentsLedger ledger = new CentsLedger(accounts);
+        for (int i = 0; i < accounts; i++) {
+            ledger.add(BASE_ID + i, balanceCents);
+        }
+        return ledger;
+    }
+
+    @Test
+    @DisplayName("resolves statuses with the same rules as the sequential engine")
+    void resolvesStatuses() {
+        ConcurrentLedger ledger = new ConcurrentLedger(ledger(2, 100));
+        assertEquals(TransactionStatus.SAME_ACCOUNT, ledger.transfer(new CentsTransfer(BASE_ID, BASE_ID, 1)));
+        assertEquals(TransactionStatus.UNKNOWN_FROM_ACCOUNT, ledger.transfer(new CentsTransfer(1, BASE_ID, 1)));
+        assertEquals(TransactionStatus.UNKNOWN_TO_ACCOUNT, ledger.transfer(new CentsTransfer(BASE_ID, 1, 1)));
+        assertEquals(TransactionStatus.INSUFFICIENT_BALANCE, ledger.transfer(new CentsTransfer(BASE_ID, BASE_ID + 1, 101)));
+        assertEquals(TransactionStatus.APPLIED, ledger.transfer(new CentsTransfer(BASE_ID, BASE_ID + 1, 100)));
+        assertEquals(0, ledger.balance(BASE_ID));
+        assertEquals(200, ledger.balance(BASE_ID + 1));
+        assertEquals(-1, ledger.balance(1));
+    }
+
+    @Test
+    @DisplayName("a credit that would overflow the to-balance is refused before anything is debited")
+    void refusesOverflowingCredit() {
+        CentsLedger accounts = new CentsLedger(2);
+        accounts.add(BASE_ID, 100);
+        accounts.add(BASE_ID + 1, Long.MAX_VALUE - 50);
+        ConcurrentLedger ledger = new ConcurrentLedger(accounts);
+
+        assertThrows(BankingException.class, () -> ledger.transfer(new CentsTransfer(BASE_ID, BASE_ID + 1, 100)));
+        assertEquals(100, ledger.balance(BASE_ID));
+        assertEquals(Long.MAX_VALUE - 50, ledger.balance(BASE_ID + 1));
+    }
+
+    @Test
+    @DisplayName("concurrent opposing transfers neither deadlock nor lose money")
+    void concurrentTransfersConserveMoney() throws Exception {
+        int accounts = 64;
+        ConcurrentLedger ledger = new ConcurrentLedger(ledger(accounts, 10_000), 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < 8; worker++) {
+            long seed = worker;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 20_000; i++) {
+                    long from = BASE_ID + random.nextInt(accounts);
+                    long to = BASE_ID + random.nextInt(accounts);
+                    ledger.transfer(new CentsTransfer(from, to, 1 + random.nextInt(5_000)));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        CentsLedger snapshot = ledger.snapshot();
+        long total = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertTrue(snapshot.balance(i) >= 0);
+            total += snapshot.balance(i);
+        }
+        assertEquals(accounts * 10_000L, total);
+    }
+
+    @Test
+    @DisplayName("throws when accounts empty")
+    void invalidInput() {
+        assertThrows(ValidationException.class, () -> new ConcurrentLedger(new CentsLedger(1)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapAccountStoreTest {
+
+    private static final long FIRST_ID = 1_000_000_000_000_000L;
+
+    @Test
+    @DisplayName("finds every account after growing past the initial capacity")
+    void growsAndFindsAccounts() {
+        OffHeapAccountStore store = new OffHeapAccountStore(1);
+        for (long id = 0; id < 10_000; id++) {
+            assertEquals(id, store.add(FIRST_ID + id * 7919, id));
+        }
+        assertEquals(10_000, store.size());
+        for (long id = 0; id < 10_000; id++) {
+            int i = store.indexOf(FIRST_ID + id * 7919);
+            assertEquals(id, i);
+            assertEquals(FIRST_ID + id * 7919, store.accountId(i));
+            assertEquals(id, store.balance(i));
+        }
+        assertEquals(-1, store.indexOf(42));
+    }
+
+    @Test
+    @DisplayName("rejects duplicate IDs and keeps the first balance")
+    void rejectsDuplicates() {
+        OffHeapAccountStore store = new OffHeapAccountStore(4);
+        assertEquals(0, store.add(1111234522226789L, 100));
+        assertEquals(-1, store.add(1111234522226789L, 200));
+        assertEquals(1, store.size());
+        assertEquals(100, store.balance(0));
+    }
+
+    @Test
+    @DisplayName("debit and credit follow the same rules as the heap ledger")
+    void debitAndCreditRules() {
+        OffHeapAccountStore store = new OffHeapAccountStore(2);
+        store.add(1, 500);
+        store.add(2, Long.MAX_VALUE);
+
+        assertFalse(store.hasSufficientBalance(0, 501));
+        assertFalse(store.hasSufficientBalance(0, 0));
+        assertThrows(ValidationException.class, () -> store.debit(0, 501));
+        assertThrows(ValidationException.class, () -> store.credit(0, 0));
+        assertThrows(ArithmeticException.class, () -> store.credit(1, 1));
+
+        store.debit(0, 200);
+        store.credit(0, 50);
+        assertEquals(350, store.balance(0));
+    }
+
+    @Test
+    @DisplayName("applying the same transfers leaves the same statuses and balances as a CentsLedger")
+    void matchesCentsLedger() {
+        CentsLedger ledger = new CentsLedger(500);
+        OffHeapAccountStore store = new OffHeapAccountStore(16);
+        for (int i = 0; i < 500; i++) {
+            long balance = i % 5 == 0 ? 0 : 20_000;
+            ledger.add(FIRST_ID + i * 13L, balance);
+            store.add(FIRST_ID + i * 13L, balance);
+        }
+
+        CentsTransferProcessor processor = new CentsTransferProcessor();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = 0; n < 50_000; n++) {
+            long from = FIRST_ID + random.nextInt(520) * 13L;
+            long to = FIRST_ID + random.nextInt(520) * 13L;
+            CentsTransfer transfer = new CentsTransfer(from, to, 1 + random.nextInt(10_000));
+            assertEquals(processor.applyStatus(ledger, transfer), processor.applyStatus(store, transfer));
+        }
+        for (int i = 0; i < ledger.size(); i++) {
+            assertEquals(ledger.accountId(i), store.accountId(i));
+            assertEquals(ledger.balance(i), store.balance(i));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTransferProcessorTest {
+
+    private static final long BASE_ID = 1_000_000_000_000_000L;
+
+    private static CentsLedger ledger(int accounts, long balanceCents) {
+        CentsLedger ledger = new CentsLedger(accounts);
+        for (int i = 0; i < accounts; i++) {
+            ledger.add(BASE_ID + i, balanceCents);
+        }
+        return ledger;
+    }
+
+    @Test
+    @DisplayName("keeps file order inside a chain of dependent transfers")
+    void keepsOrderWithinGroup() {
+        CentsLedger accounts = ledger(3, 1000);
+        ProcessResult result = new ParallelTransferProcessor().process(accounts, List.of(
+            new CentsTransfer(BASE_ID, BASE_ID + 1, 1000),
+            new CentsTransfer(BASE_ID, BASE_ID + 2, 1),
+            new CentsTransfer(BASE_ID + 1, BASE_ID + 2, 2000),
+            new CentsTransfer(BASE_ID + 2, BASE_ID, 1),
+            new CentsTransfer(BASE_ID, BASE_ID, 1),
+            new CentsTransfer(42, BASE_ID, 1),
+            new CentsTransfer(BASE_ID, 42, 1)));
+
+        assertEquals(List.of(TransactionStatus.APPLIED, TransactionStatus.INSUFFICIENT_BALANCE,
+                TransactionStatus.APPLIED, TransactionStatus.APPLIED, TransactionStatus.SAME_ACCOUNT,
+                TransactionStatus.UNKNOWN_FROM_ACCOUNT, TransactionStatus.UNKNOWN_TO_ACCOUNT),
+            result.transactionResults().stream().map(r -> r.status()).toList());
+        assertEquals(1000, accounts.balance(0));
+    }
+
+    @Test
+    @DisplayName("random workload matches the sequential cents engine")
+    void matchesSequentialEngine() {
+        Random random = new Random(7);
+        int accountCount = 5_000;
+        List<CentsTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int cluster = random.nextInt(accountCount / 20) * 20;
+            long from = BASE_ID + (random.nextInt(100) == 0 ? accountCount : cluster + random.nextInt(20));
+            long to = BASE_ID + cluster + random.nextInt(20);
+            transfers.add(new CentsTransfer(from, to, 1 + random.nextInt(20_000)));
+        }
+        CentsLedger accounts = ledger(accountCount, 10_000);
+
+        ProcessResult expected = new CentsTransferProcessor().process(accounts, transfers);
+        ProcessResult actual = new ParallelTransferProcessor(new ForkJoinPool(4)).process(accounts, transfers);
+
+        assertEquals(expected.transactionResults(), actual.transactionResults());
+        assertEquals(expected.accounts(), actual.accounts());
+        assertEquals(expected.statusCounts(), actual.statusCounts());
+    }
+
+    @Test
+    @DisplayName("throws when accounts empty or transfers null")
+    void invalidInput() {
+        var processor = new ParallelTransferProcessor();
+        assertThrows(ValidationException.class, () -> processor.process(new CentsLedger(1), List.of()));
+        assertThrows(ValidationException.class, () -> processor.process(ledger(1, 0), null));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mable.banking.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedAccountIndexTest {
+
+    private static final long FIRST_ID = 1_000_000_000_000_000L;
+
+    @Test
+    @DisplayName("finds every account and rejects IDs between, below and above them")
+    void findsEvenlySpreadIds() {
+        SortedAccountIndex.Builder builder = new SortedAccountIndex.Builder(1);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, builder.add(FIRST_ID + i * 7919L, i));
+        }
+        SortedAccountIndex index = builder.build();
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, index.indexOf(FIRST_ID + i * 7919L));
+            assertEquals(i, index.balance(i));
+            assertEquals(-1, index.indexOf(FIRST_ID + i * 7919L + 1));
+        }
+        assertEquals(-1, index.indexOf(FIRST_ID - 1));
+        assertEquals(-1, index.indexOf(9_999_999_999_999_999L));
+    }
+
+    @Test
+    @DisplayName("clustered IDs that defeat interpolation are still found")
+    void findsClusteredIds() {
+        // Almost every ID sits at the bottom of the range, with one far outlier at the top.
+        CentsLedger ledger = new CentsLedger(5_001);
+        for (int i = 0; i < 5_000; i++) {
+            ledger.add(FIRST_ID + (long) i * i, i);
+        }
+        ledger.add(9_999_999_999_999_999L, -1);
+        SortedAccountIndex index = SortedAccountIndex.of(ledger);
+
+        for (int i = 0; i < ledger.size(); i++) {
+            int found = index.indexOf(ledger.accountId(i));
+            assertTrue(found >= 0, "account " + i);
+            assertEquals(ledger.balance(i), index.balance(found));
+        }
+        assertFalse(index.contains(FIRST_ID + 2));
+    }
+
+    @Test
+    @DisplayName("unsorted input is sorted once and duplicates are rejected on either path")
+    void sortsUnsortedInputAndRejectsDuplicates() {
+        SortedAccountIndex.Builder builder = new SortedAccountIndex.Builder(4);
+        assertEquals(0, builder.add(FIRST_ID + 10, 100));
+        assertEquals(-1, builder.add(FIRST_ID + 10, 200));
+        assertEquals(1, builder.add(FIRST_ID + 20, 200));
+        assertEquals(2, builder.add(FIRST_ID + 5, 50));
+        assertEquals(-1, builder.add(FIRST_ID + 20, 999));
+        SortedAccountIndex index = builder.build();
+
+        assertEquals(3, index.size());
+        assertArrayEquals(new long[]{FIRST_ID + 5, FIRST_ID + 10, FIRST_ID + 20},
+            new long[]{index.accountId(0), index.accountId(1), index.accountId(2)});
+        assertArrayEquals(new long[]{50, 100, 200}, new long[]{index.balance(0), index.balance(1), index.balance(2)});
+    }
+
+    @Test
+    @DisplayName("agrees with the hash ledger on random IDs")
+    void matchesCentsLedger() {
+        SplittableRandom random = new SplittableRandom(11);
+        CentsLedger ledger = new CentsLedger(20_000);
+        for (int i = 0; i < 20_000; i++) {
+            ledger.add(FIRST_ID + random.nextLong(9_000_000_000_000_000L), i);
+        }
+        SortedAccountIndex index = SortedAccountIndex.of(ledger);
+
+        for (int n = 0; n < 100_000; n++) {
+            long id = n % 2 == 0 ? ledger.accountId(random.nextInt(ledger.size())) : FIRST_ID + random.nextLong(9_000_000_000_000_000L);
+            int expected = ledger.indexOf(id);
+            int actual = index.indexOf(id);
+            assertEquals(expected >= 0, actual >= 0);
+            if (actual >= 0) {
+                assertEquals(ledger.balance(expected), index.balance(actual));
+            }
+        }
+        assertEquals(-1, SortedAccountIndex.of(new CentsLedger(0)).indexOf(FIRST_ID));
+    }
+}
@@ -0,0 +1,129 @@
+package com.mable.banking.service;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferClassifierTest {
+
+    private static final long FIRST_ID = 1_000_000_000_000_000L;
+
+    @Test
+    @DisplayName("rejects the same transfers as the sequential engine and leaves the rest open")
+    void matchesSequentialStatuses() {
+        CentsLedger accounts = ledger(1_000);
+        List<CentsTransfer> transfers = transfers(100_000, 1_100);
+        ProcessResult expected = new CentsTransferProcessor().process(accounts, transfers);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TransferClassifier.Classification classification = new TransferClassifier(pool).classify(accounts, transfers);
+            assertEquals(transfers.size(), classification.size());
+            for (int t = 0; t < transfers.size(); t++) {
+                TransactionStatus status = expected.transactionResults().get(t).status();
+                if (status == TransactionStatus.APPLIED || status == TransactionStatus.INSUFFICIENT_BALANCE) {
+                    assertNull(classification.status(t), "transfer " + t);
+                } else {
+                    assertEquals(status, classification.status(t), "transfer " + t);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("processing a classified batch gives the same results and balances")
+    void classifiedProcessMatches() {
+        CentsLedger accounts = ledger(500);
+        List<CentsTransfer> transfers = transfers(50_000, 550);
+        CentsTransferProcessor processor = new CentsTransferProcessor();
+
+        ProcessResult expected = processor.process(accounts, transfers);
+        ProcessResult actual = processor.process(accounts, transfers, new TransferClassifier().classify(accounts, transfers));
+
+        assertEquals(expected.transactionResults(), actual.transactionResults());
+        assertEquals(expected.accounts(), actual.accounts());
+        assertEquals(expected.statusCounts(), actual.statusCounts());
+    }
+
+    @Test
+    @DisplayName("a ledger whose IDs are not in order is classified through its own index")
+    void classifiesUnsortedLedger() {
+        CentsLedger accounts = new CentsLedger(500);
+        for (int i = 499; i >= 0; i--) {
+            accounts.add(FIRST_ID + i, i % 9 == 0 ? 0 : 50_000);
+        }
+        List<CentsTransfer> transfers = transfers(50_000, 550);
+        CentsTransferProcessor processor = new CentsTransferProcessor();
+
+        ProcessResult expected = processor.process(accounts, transfers);
+        ProcessResult actual = processor.process(accounts, transfers, new TransferClassifier().classify(accounts, transfers));
+
+        assertEquals(expected.transactionResults(), actual.transactionResults());
+        assertEquals(expected.accounts(), actual.accounts());
+    }
+
+    @Test
+    @DisplayName("only ascending IDs that interpolation can find in one probe use the sorted index")
+    void detectsEvenlySpreadIds() {
+        assertTrue(TransferClassifier.evenlySpread(ledger(1_000)));
+
+        CentsLedger uneven = new CentsLedger(1_000);
+        SplittableRandom random = new SplittableRandom(7);
+        long id = FIRST_ID;
+        for (int i = 0; i < 1_000; i++) {
+            id += 1 + random.nextInt(1_000);
+            uneven.add(id, 0);
+        }
+        assertFalse(TransferClassifier.evenlySpread(uneven));
+
+        CentsLedger unsorted = new CentsLedger(3);
+        unsorted.add(FIRST_ID + 1, 0);
+        unsorted.add(FIRST_ID, 0);
+        unsorted.add(FIRST_ID + 2, 0);
+        assertFalse(TransferClassifier.evenlySpread(unsorted));
+    }
+
+    @Test
+    @DisplayName("a classification made for other transfers is refused")
+    void refusesMismatchedClassification() {
+        CentsLedger accounts = ledger(10);
+        TransferClassifier.Classification classification = new TransferClassifier().classify(accounts, transfers(5, 10));
+
+        assertThrows(ValidationException.class,
+            () -> new CentsTransferProcessor().process(accounts, transfers(6, 10), classification));
+    }
+
+    private static CentsLedger ledger(int count) {
+        CentsLedger ledger = new CentsLedger(count);
+        for (int i = 0; i < count; i++) {
+            ledger.add(FIRST_ID + i, i % 9 == 0 ? 0 : 50_000);
+        }
+        return ledger;
+    }
+
+    /**
+     * IDs drawn from {@code [0, idRange)}, so anything at or above the ledger size is an unknown account.
+     */
+    private static List<CentsTransfer> transfers(int count, int idRange) {
+        SplittableRandom random = new SplittableRandom(count);
+        List<CentsTransfer> transfers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long from = FIRST_ID + random.nextInt(idRange);
+            long to = random.nextInt(40) == 0 ? from : FIRST_ID + random.nextInt(idRange);
+            transfers.add(new CentsTransfer(from, to, 1 + random.nextInt(20_000)));
+        }
+        return transfers;
+    }
+}
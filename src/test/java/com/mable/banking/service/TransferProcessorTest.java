@@ -2,6 +2,7 @@ package com.mable.banking.service;
 
 import com.mable.banking.domain.Account;
 import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.StatusCounts;
 import com.mable.banking.exception.ValidationException;
 import com.mable.banking.domain.TransactionResult;
 import com.mable.banking.domain.TransactionStatus;
@@ -157,6 +158,49 @@ class TransferProcessorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Status counts")
+    class StatusCountsOnResult {
+
+        @Test
+        @DisplayName("counts every status while applying")
+        void countsEveryStatus() {
+            var result = processor.process(accounts, List.of(
+                new Transfer(ACC_A, ACC_B, new BigDecimal("100.00")),
+                new Transfer(ACC_B, ACC_A, new BigDecimal("50.00")),
+                new Transfer(ACC_A, ACC_A, new BigDecimal("1.00")),
+                new Transfer("9999999999999999", ACC_B, new BigDecimal("1.00")),
+                new Transfer(ACC_B, ACC_A, new BigDecimal("999999.00"))));
+
+            StatusCounts counts = result.statusCounts();
+            assertEquals(2, counts.get(TransactionStatus.APPLIED));
+            assertEquals(1, counts.get(TransactionStatus.SAME_ACCOUNT));
+            assertEquals(1, counts.get(TransactionStatus.UNKNOWN_FROM_ACCOUNT));
+            assertEquals(0, counts.get(TransactionStatus.UNKNOWN_TO_ACCOUNT));
+            assertEquals(1, counts.get(TransactionStatus.INSUFFICIENT_BALANCE));
+            assertEquals(result.transactionResults().size(), counts.total());
+            assertEquals(5, counts.asMap().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Per-transfer apply")
+    class PerTransferApply {
+
+        @Test
+        @DisplayName("apply updates the copied ledger one transfer at a time")
+        void appliesAgainstCopiedLedger() {
+            Map<String, Account> ledger = processor.copyAccounts(accounts);
+            TransactionResult first = processor.apply(ledger, new Transfer(ACC_B, ACC_A, new BigDecimal("1200.00")));
+            TransactionResult second = processor.apply(ledger, new Transfer(ACC_B, ACC_A, new BigDecimal("0.01")));
+
+            assertEquals(TransactionStatus.APPLIED, first.status());
+            assertEquals(TransactionStatus.INSUFFICIENT_BALANCE, second.status());
+            assertEquals(new BigDecimal("0.00"), ledger.get(ACC_B).getBalance());
+            assertEquals(new BigDecimal("1200.00"), accounts.get(ACC_B).getBalance());
+        }
+    }
+
     @Nested
     @DisplayName("Input validation")
     class InputValidation {
@@ -0,0 +1,154 @@
+package com.mable.banking.shard;
+
+import com.mable.banking.domain.CentsTransfer;
+import com.mable.banking.domain.ProcessResult;
+import com.mable.banking.domain.TransactionStatus;
+import com.mable.banking.exception.BankingException;
+import com.mable.banking.service.CentsLedger;
+import com.mable.banking.service.CentsTransferProcessor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTransferProcessorTest {
+
+    private static final long FIRST_ID = 1_000_000_000_000_000L;
+
+    private final List<ShardWorker> workers = new ArrayList<>();
+
+    @AfterEach
+    void stopWorkers() throws IOException {
+        for (ShardWorker worker : workers) {
+            worker.close();
+        }
+    }
+
+    @Test
+    @DisplayName("matches the sequential engine's statuses and closing balances for any shard count")
+    void matchesSequentialEngine() throws IOException {
+        CentsLedger accounts = new CentsLedger(200);
+        for (int i = 0; i < 200; i++) {
+            accounts.add(FIRST_ID + i, i % 7 == 0 ? 0 : 10_000);
+        }
+        // A few IDs outside the ledger give UNKNOWN_* statuses on every shard.
+        SplittableRandom random = new SplittableRandom(42);
+        List<CentsTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long from = FIRST_ID + random.nextInt(210);
+            long to = random.nextInt(50) == 0 ? from : FIRST_ID + random.nextInt(210);
+            transfers.add(new CentsTransfer(from, to, 1 + random.nextInt(5_000)));
+        }
+        ProcessResult expected = new CentsTransferProcessor().process(accounts, transfers);
+
+        for (int shards = 1; shards <= 4; shards++) {
+            ProcessResult actual = new ShardedTransferProcessor(startWorkers(shards)).process(accounts, transfers);
+
+            assertEquals(expected.transactionResults(), actual.transactionResults(), shards + " shards");
+            assertEquals(expected.accounts(), actual.accounts(), shards + " shards");
+            assertEquals(expected.statusCounts(), actual.statusCounts(), shards + " shards");
+        }
+        for (TransactionStatus status : TransactionStatus.values()) {
+            assertTrue(expected.statusCounts().get(status) > 0, status.name());
+        }
+    }
+
+    @Test
+    @DisplayName("a cross-shard credit lands before the credited account is debited")
+    void creditPrecedesNextDebit() throws IOException {
+        // Only the first account starts funded, so each hop succeeds only if the previous one was credited.
+        CentsLedger accounts = new CentsLedger(100);
+        for (int i = 0; i < 100; i++) {
+            accounts.add(FIRST_ID + i, i == 0 ? 500 : 0);
+        }
+        List<CentsTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 99; i++) {
+            transfers.add(new CentsTransfer(FIRST_ID + i, FIRST_ID + i + 1, 500));
+        }
+
+        ProcessResult result = new ShardedTransferProcessor(startWorkers(3)).process(accounts, transfers);
+
+        assertEquals(99, result.statusCounts().get(TransactionStatus.APPLIED));
+        assertEquals("5.00", result.accounts().get(String.valueOf(FIRST_ID + 99)).getBalance().toPlainString());
+        assertEquals("0.00", result.accounts().get(String.valueOf(FIRST_ID)).getBalance().toPlainString());
+    }
+
+    @Test
+    @DisplayName("a worker can serve several runs one after another")
+    void reusesWorkers() throws IOException {
+        CentsLedger accounts = new CentsLedger(2);
+        accounts.add(FIRST_ID, 100);
+        accounts.add(FIRST_ID + 1, 0);
+        ShardedTransferProcessor processor = new ShardedTransferProcessor(startWorkers(2));
+        List<CentsTransfer> transfers = List.of(new CentsTransfer(FIRST_ID, FIRST_ID + 1, 100));
+
+        for (int run = 0; run < 2; run++) {
+            ProcessResult result = processor.process(accounts, transfers);
+            assertEquals(TransactionStatus.APPLIED, result.transactionResults().get(0).status());
+            assertEquals("1.00", result.accounts().get(String.valueOf(FIRST_ID + 1)).getBalance().toPlainString());
+        }
+    }
+
+    @Test
+    @DisplayName("a failure on a shard reaches the coordinator")
+    void shardFailureIsReported() throws IOException {
+        CentsLedger accounts = new CentsLedger(2);
+        accounts.add(FIRST_ID, 100);
+        accounts.add(FIRST_ID + 1, Long.MAX_VALUE);
+        List<CentsTransfer> transfers = List.of(new CentsTransfer(FIRST_ID, FIRST_ID + 1, 100));
+
+        BankingException e = assertThrows(BankingException.class,
+            () -> new ShardedTransferProcessor(startWorkers(3)).process(accounts, transfers));
+        assertTrue(e.getMessage().startsWith("Shard "), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("local worker processes talk to the coordinator over loopback")
+    void workerProcesses() throws IOException {
+        CentsLedger accounts = new CentsLedger(20);
+        for (int i = 0; i < 20; i++) {
+            accounts.add(FIRST_ID + i, 1_000);
+        }
+        List<CentsTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            transfers.add(new CentsTransfer(FIRST_ID + i % 21, FIRST_ID + (i * 7) % 20, 150));
+        }
+
+        try (LocalShards shards = LocalShards.start(2)) {
+            ProcessResult actual = new ShardedTransferProcessor(shards.addresses()).process(accounts, transfers);
+            ProcessResult expected = new CentsTransferProcessor().process(accounts, transfers);
+            assertEquals(expected.transactionResults(), actual.transactionResults());
+            assertEquals(expected.accounts(), actual.accounts());
+        }
+    }
+
+    private List<InetSocketAddress> startWorkers(int count) throws IOException {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (int s = 0; s < count; s++) {
+            ShardWorker worker = new ShardWorker(new ServerSocket(0, 1, InetAddress.getLoopbackAddress()));
+            workers.add(worker);
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.serve();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, "shard-" + s);
+            thread.setDaemon(true);
+            thread.start();
+            addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.port()));
+        }
+        return addresses;
+    }
+}